@@ -0,0 +1,33 @@
+package vv;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.config.VVConfig;
+import vv.sims.LockstepSimulation;
+
+/**
+ * Shared setup for the JMH benchmarks, the benchmark counterpart of the tests' TestSetup.
+ * Each JMH fork is its own JVM, so HAL is initialized once per fork.
+ */
+public class BenchmarkSetup {
+    public static final String CONFIG_PATH = "./src/main/deploy/practice-robot.properties";
+
+    public static VVConfig initSimulation() {
+        if (!HAL.initialize(500, 0)) {
+            throw new RuntimeException("HAL initialization failed");
+        }
+        CommandScheduler.getInstance().cancelAll();
+        CommandScheduler.getInstance().unregisterAllSubsystems();
+
+        DriverStationSim.resetData();
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+        DriverStation.silenceJoystickConnectionWarning(true);
+
+        // Nothing in a benchmark should depend on real-time sim threads
+        LockstepSimulation.enable();
+        return VVConfig.readFromPath(CONFIG_PATH);
+    }
+}
@@ -0,0 +1,59 @@
+package vv.commands;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import vv.BenchmarkSetup;
+import vv.subsystems.drivetrain.DrivetrainFactory;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveRobotRelativeBenchmark {
+    /**
+     * Loops per invocation. Each one advances the profile by a loop period and the pose never
+     * moves, so 1000 loops cover 20 s of a profile that is hundreds of seconds long.
+     */
+    private static final int LOOPS = 1000;
+
+    MoveRobotRelative command;
+
+    @Setup
+    public void setup() {
+        var config = BenchmarkSetup.initSimulation();
+        var drivetrain = DrivetrainFactory.createDrivetrain(config);
+        // Far enough away that the profile is still running at the end of every batch
+        var move = new Transform2d(new Translation2d(1000, 500), Rotation2d.kCW_90deg);
+        command = new MoveRobotRelative(config, drivetrain, move);
+    }
+
+    /**
+     * Restarts the profile, then runs a batch of loops, so every measured loop is mid-profile.
+     * The restart is amortized over the batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LOOPS)
+    public void execute() {
+        command.initialize();
+        for (int i = 0; i < LOOPS; i++) {
+            command.execute();
+        }
+    }
+}
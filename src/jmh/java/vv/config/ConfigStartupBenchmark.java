@@ -0,0 +1,51 @@
+package vv.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vv.BenchmarkSetup;
+
+/**
+ * Cold-start cost of loading the robot config: each fork is a fresh JVM that loads the config
+ * exactly once, the way the robot does at boot, either from the compiled snapshot or by parsing
+ * the text. {@link VVConfigBenchmark} measures the warmed-up steady state.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class ConfigStartupBenchmark {
+
+    @Setup(Level.Trial)
+    public void checkSnapshot() {
+        // Only checks the file, so no config classes are loaded before the measurement
+        if (!Files.isRegularFile(Path.of(BenchmarkSetup.CONFIG_PATH + ".snapshot"))) {
+            throw new IllegalStateException("No config snapshot; run ./gradlew compileConfig first");
+        }
+    }
+
+    @Benchmark
+    public VVConfig snapshot() {
+        return VVConfig.readFromPath(BenchmarkSetup.CONFIG_PATH);
+    }
+
+    @Benchmark
+    public VVConfig text() {
+        return VVConfig.readFromText(BenchmarkSetup.CONFIG_PATH);
+    }
+}
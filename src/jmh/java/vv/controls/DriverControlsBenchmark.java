@@ -0,0 +1,48 @@
+package vv.controls;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import vv.BenchmarkSetup;
+import vv.subsystems.drivetrain.DrivetrainFactory;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DriverControlsBenchmark {
+
+    DriverControls driverControls;
+
+    @Setup
+    public void setup() {
+        var config = BenchmarkSetup.initSimulation();
+        var drivetrain = DrivetrainFactory.createDrivetrain(config);
+        driverControls = new DriverControls(config.controllers());
+        driverControls.setupTriggers(config, drivetrain);
+        driverControls.simulate((controller) -> {
+            controller.setLeftY(-0.5);
+            controller.setLeftX(0.25);
+            controller.setRightX(0.5);
+        });
+    }
+
+    @Benchmark
+    public SwerveRequest defaultCommandSupplier() {
+        return driverControls.teleopRequest();
+    }
+}
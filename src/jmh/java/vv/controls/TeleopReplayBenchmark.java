@@ -0,0 +1,83 @@
+package vv.controls;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vv.BenchmarkSetup;
+import vv.sims.LockstepSimulation;
+import vv.subsystems.drivetrain.DrivetrainFactory;
+import vv.subsystems.roller.RollerSubsystem;
+
+/**
+ * Cost of one teleop loop (inputs, scheduler, subsystems, sim physics) while replaying a scripted
+ * session: the driver sweeps the sticks and the operator taps the bumpers. Pass a recorded trace
+ * with -Dvv.inputs.trace=<file> to benchmark a real session instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TeleopReplayBenchmark {
+
+    InputReplayer replayer;
+    double period;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var config = BenchmarkSetup.initSimulation();
+        period = config.simulation().simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
+        var drivetrain = DrivetrainFactory.createDrivetrain(config);
+        drivetrain.register();
+        var roller = new RollerSubsystem(config);
+        var driverControls = new DriverControls(config.controllers());
+        var operatorControls = new OperatorControls(config.controllers());
+        driverControls.setupTriggers(config, drivetrain);
+        operatorControls.setupTriggers(driverControls, roller);
+
+        var path = System.getProperty("vv.inputs.trace");
+        var trace = path != null ? InputTrace.read(Path.of(path)) : scriptedSession(driverControls, operatorControls);
+        replayer = new InputReplayer(trace, driverControls.sim(), operatorControls.sim());
+    }
+
+    private static InputTrace scriptedSession(DriverControls driverControls, OperatorControls operatorControls) {
+        var recorder = new InputRecorder(driverControls.controls().getHID().getPort(), operatorControls.controls().getHID().getPort());
+        for (int i = 0; i < 1500; i++) {
+            var t = i * 0.02;
+            driverControls.simulate(c -> {
+                c.setLeftX(0.5 * Math.sin(t));
+                c.setLeftY(-0.8 * Math.cos(0.5 * t));
+                c.setRightX(0.3 * Math.sin(2 * t));
+            });
+            var phase = i % 200;
+            operatorControls.simulate(c -> {
+                c.setRightBumperButton(phase >= 50 && phase < 100);
+                c.setLeftBumperButton(phase >= 150);
+            });
+            recorder.sample();
+        }
+        return recorder.trace();
+    }
+
+    @Benchmark
+    public void teleopLoop() {
+        if (!replayer.step()) {
+            replayer.rewind();
+            replayer.step();
+        }
+        LockstepSimulation.step(period);
+    }
+}
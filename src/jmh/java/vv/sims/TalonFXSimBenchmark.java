@@ -0,0 +1,49 @@
+package vv.sims;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import vv.BenchmarkSetup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TalonFXSimBenchmark {
+
+    TalonFX talon;
+    TalonFXSim sim;
+
+    @Setup
+    public void setup() {
+        var config = BenchmarkSetup.initSimulation();
+        talon = new TalonFX(config.roller().motor().port());
+        sim = new TalonFXSim(config.simulation(), talon);
+        talon.set(0.5);
+    }
+
+    @TearDown
+    public void tearDown() {
+        talon.close();
+    }
+
+    @Benchmark
+    public void updateState() {
+        sim.updateState();
+    }
+}
@@ -0,0 +1,46 @@
+package vv.subsystems.drivetrain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vv.BenchmarkSetup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DrivetrainBenchmark {
+
+    DrivetrainSubsystem drivetrain;
+    double vx = 1.0;
+
+    @Setup
+    public void setup() {
+        drivetrain = DrivetrainFactory.createDrivetrain(BenchmarkSetup.initSimulation());
+    }
+
+    @TearDown
+    public void tearDown() {
+        drivetrain.stop();
+    }
+
+    @Benchmark
+    public void driveFieldRelative() {
+        // Vary the input so the request is never identical between calls
+        vx = -vx;
+        drivetrain.driveFieldRelative(vx, 0.5, 0.25);
+    }
+}
@@ -0,0 +1,44 @@
+package vv.subsystems.roller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vv.BenchmarkSetup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RollerBenchmark {
+
+    RollerSubsystem roller;
+
+    @Setup
+    public void setup() {
+        roller = new RollerSubsystem(BenchmarkSetup.initSimulation());
+        roller.intake().initialize();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        roller.close();
+    }
+
+    @Benchmark
+    public void periodic() {
+        roller.periodic();
+    }
+}
@@ -1,47 +1,130 @@
 package vv;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.net.WebServer;
+import static edu.wpi.first.units.Units.Milliseconds;
 import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj.TimedRobot;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.Commands;
+import vv.auto.AutoRoutines;
+import vv.boot.BootOrchestrator;
 import vv.commands.MoveRobotRelative;
+import vv.commands.PlayTrajectory;
+import vv.config.PIDConfigWatcher;
 import vv.config.VVConfig;
 import vv.controls.DriverControls;
+import vv.controls.InputRecorder;
 import vv.controls.OperatorControls;
+import vv.devices.DeviceConfigurator;
+import vv.devices.SignalRegistry;
+import vv.diagnostics.CdsTraining;
+import vv.diagnostics.CommandLog;
+import vv.diagnostics.LoopProfiler;
+import vv.diagnostics.StartupBenchmark;
 import vv.subsystems.drivetrain.DrivetrainFactory;
 import vv.subsystems.drivetrain.DrivetrainSubsystem;
 import vv.subsystems.roller.RollerSubsystem;
+import vv.telemetry.PoseChannel;
+import vv.telemetry.TelemetryService;
+import vv.trajectories.TrajectoryCache;
 
 public class Robot extends TimedRobot{
     
     public static Robot instance = null;
+    private static final String DEVICE_CONFIG_CACHE = "device-config-fingerprints.properties";
+    // Set to a file path to record controller inputs; the trace is written each time the robot is disabled
+    private static final String INPUT_TRACE_PROPERTY = "vv.inputs.record";
     private final VVConfig config;
     private final DriverControls driverControls;
     private final OperatorControls operatorControls;
     private final DrivetrainSubsystem drivetrain;
     private final RollerSubsystem roller;
+    private final TrajectoryCache trajectories;
+    private final TelemetryService telemetry;
+    private final PoseChannel poseTelemetry;
+    private final Optional<InputRecorder> inputRecorder;
+    private final Optional<CdsTraining> cdsTraining = CdsTraining.fromSystemProperties();
 
     private Robot() {
-        config = VVConfig.readFromPath("./src/main/deploy/practice-robot.properties");
-        driverControls = new DriverControls(config.controllers());
-        operatorControls = new OperatorControls(config.controllers());
-        drivetrain = DrivetrainFactory.createDrivetrain(config);
-        roller = new RollerSubsystem(config);
-
-        driverControls.setupTriggers(config, drivetrain);
-        operatorControls.setupTriggers(driverControls, roller);
+        // The scheduler singleton isn't thread-safe to create, so make sure it exists before any
+        // background phase constructs something that looks it up
+        CommandScheduler.getInstance();
+
+        try (var boot = new BootOrchestrator()) {
+            var configPhase = boot.onMainThread("config",
+                () -> VVConfig.readFromPath("./src/main/deploy/practice-robot.properties"));
+            config = configPhase.join();
+
+            // Device construction and configuration dominate boot, and the drivetrain's and the
+            // roller's are independent of each other
+            var drivetrainPhase = boot.inBackground("drivetrain", () -> DrivetrainFactory.createDrivetrain(config), configPhase);
+            var trajectoriesPhase = boot.inBackground("trajectories",
+                () -> TrajectoryCache.load(Filesystem.getDeployDirectory().toPath().resolve(TrajectoryCache.DIRECTORY)));
+            boot.inBackground("pidWatcher", () -> {
+                try {
+                    // Lets PID gains be tuned by editing the properties file, without a restart
+                    PIDConfigWatcher.start(config);
+                } catch (IOException e) {
+                    DriverStation.reportWarning("PID hot-reload unavailable: " + e.getMessage(), false);
+                }
+                return null;
+            }, configPhase);
+            var telemetryPhase = boot.inBackground("telemetry", () -> new TelemetryService(config.telemetry()), configPhase);
+
+            // The roller registers itself with the scheduler, so it is built here while
+            // the drivetrain configures in the background
+            var rollerPhase = boot.onMainThread("roller", () -> new RollerSubsystem(config));
+            roller = rollerPhase.join();
+            var deviceConfigPhase = boot.inBackground("deviceConfigs", () -> {
+                var configurator = new DeviceConfigurator(
+                    Filesystem.getOperatingDirectory().toPath().resolve(DEVICE_CONFIG_CACHE),
+                    config.boot().trustDeviceConfigCache()
+                );
+                roller.configureDevices(configurator);
+                var report = configurator.applyAll(Duration.ofMillis((long) config.boot().deviceConfigBudget().in(Milliseconds)));
+                DataLogManager.log(report.summary());
+                return report;
+            }, rollerPhase);
+            driverControls = boot.onMainThread("driverControls", () -> new DriverControls(config.controllers())).join();
+            operatorControls = boot.onMainThread("operatorControls", () -> new OperatorControls(config.controllers())).join();
+            inputRecorder = Optional.ofNullable(System.getProperty(INPUT_TRACE_PROPERTY)).map(path -> new InputRecorder(
+                config.controllers().driver().port(), config.controllers().operator().port()));
+
+            drivetrain = drivetrainPhase.join();
+            trajectories = trajectoriesPhase.join();
+            telemetry = telemetryPhase.join();
+            deviceConfigPhase.join();
+            poseTelemetry = telemetry.pose("/Robot/Pose");
+
+            boot.onMainThread("triggers", () -> {
+                driverControls.setupTriggers(config, drivetrain);
+                operatorControls.setupTriggers(driverControls, roller);
+            }, drivetrainPhase);
+            boot.onMainThread("busOptimization", SignalRegistry::optimizeBusUtilization, drivetrainPhase);
+            boot.onMainThread("profiler", LoopProfiler::install);
+            telemetry.start();
+            boot.logReport();
+        }
     }
 
     public static Robot start() {
         if (Robot.instance == null) {
             Robot.instance = new Robot();
             DataLogManager.start();
+            // Joystick inputs and command events are what replay needs alongside the hoot log
+            DriverStation.startDataLog(DataLogManager.getLog());
+            CommandLog.install();
         }
         return Robot.instance;
     }
@@ -49,14 +132,38 @@ public class Robot extends TimedRobot{
     @Override
     public void robotInit() {
         WebServer.start(5800, Filesystem.getDeployDirectory().getPath());
+        // Includes class loading, which the CDS archive built on deploy speeds up
+        DataLogManager.log(StartupBenchmark.MARKER + ManagementFactory.getRuntimeMXBean().getUptime() + "ms of JVM uptime");
     }
 
     @Override
     public void robotPeriodic() {
-        CommandScheduler.getInstance().run();
-        SmartDashboard.putNumber("PoseX", drivetrain.getState().Pose.getX());
-        SmartDashboard.putNumber("PoseY", drivetrain.getState().Pose.getY());
-        SmartDashboard.putNumber("Rotation", drivetrain.getState().Pose.getRotation().getDegrees());
+        inputRecorder.ifPresent(InputRecorder::sample);
+        SignalRegistry.refreshAll();
+        LoopProfiler.runScheduler();
+        SignalRegistry.publishHealth();
+        poseTelemetry.set(drivetrain.getSnapshot().pose());
+        cdsTraining.ifPresent(CdsTraining::step);
+    }
+
+    @Override
+    public void disabledInit() {
+        inputRecorder.filter(recorder -> recorder.frameCount() > 0).ifPresent(recorder -> {
+            var path = Path.of(System.getProperty(INPUT_TRACE_PROPERTY));
+            try {
+                recorder.trace().write(path);
+            } catch (IOException e) {
+                DriverStation.reportWarning("Could not write input trace " + path + ": " + e.getMessage(), false);
+            }
+        });
+    }
+
+    @Override
+    public void autonomousInit() {
+        trajectories.find(AutoRoutines.DEFAULT.id()).ifPresentOrElse(
+            trajectory -> new PlayTrajectory(config, drivetrain, trajectory).schedule(),
+            () -> DriverStation.reportWarning("Trajectory '" + AutoRoutines.DEFAULT.id() + "' was not precomputed", false)
+        );
     }
 
     @Override
@@ -71,6 +178,15 @@ public class Robot extends TimedRobot{
         .schedule();
     }
 
+    /**
+     * Runs one iteration of the robot loop (mode transitions, periodic methods and the scheduler).
+     * For {@link vv.replay.ReplayRunner}, which steps time itself instead of calling
+     * {@link #startCompetition()}.
+     */
+    public void stepLoop() {
+        loopFunc();
+    }
+
     public DrivetrainSubsystem getDrivetrain() {
         return drivetrain;
     }
@@ -0,0 +1,26 @@
+package vv.auto;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.wpi.first.math.geometry.Pose2d;
+
+/**
+ * A named drive path in field coordinates, starting from where the robot is placed.
+ *
+ * @param id Trajectory id, also the file name it is precomputed to
+ * @param waypoints Poses to drive through, the first being the starting pose
+ */
+public record AutoRoutine(
+    String id,
+    List<Pose2d> waypoints
+) {
+    public AutoRoutine {
+        Objects.requireNonNull(id, "Id cannot be null");
+        Objects.requireNonNull(waypoints, "Waypoints cannot be null");
+        if (waypoints.size() < 2) {
+            throw new IllegalArgumentException("Routine '%s' needs a start pose and at least one waypoint".formatted(id));
+        }
+        waypoints = List.copyOf(waypoints);
+    }
+}
@@ -0,0 +1,43 @@
+package vv.auto;
+
+import java.util.List;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * Every autonomous drive path, declared in code. These are precomputed into trajectory files at
+ * build time ({@code ./gradlew precomputeTrajectories}), so add new routines here rather than
+ * generating paths on the robot. Waypoints are played relative to the robot's pose when the
+ * routine starts, so only their shape matters.
+ */
+public final class AutoRoutines {
+
+    /**
+     * 3 m square driven clockwise, turning to face along each side.
+     */
+    public static final AutoRoutine SQUARE = new AutoRoutine("square", List.of(
+        new Pose2d(0, 0, Rotation2d.kZero),
+        new Pose2d(3, 0, Rotation2d.kCW_90deg),
+        new Pose2d(3, -3, Rotation2d.k180deg),
+        new Pose2d(0, -3, Rotation2d.kCCW_90deg),
+        new Pose2d(0, 0, Rotation2d.kCCW_90deg)
+    ));
+
+    /**
+     * Out 1 m and back, facing forward throughout.
+     */
+    public static final AutoRoutine FORWARD_AND_BACK = new AutoRoutine("forward-and-back", List.of(
+        new Pose2d(0, 0, Rotation2d.kZero),
+        new Pose2d(1, 0.25, Rotation2d.kZero),
+        new Pose2d(0, 0.5, Rotation2d.kZero)
+    ));
+
+    public static final AutoRoutine DEFAULT = SQUARE;
+
+    private AutoRoutines() {}
+
+    public static List<AutoRoutine> all() {
+        return List.of(SQUARE, FORWARD_AND_BACK);
+    }
+}
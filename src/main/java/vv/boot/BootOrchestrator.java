@@ -0,0 +1,142 @@
+package vv.boot;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.wpi.first.wpilibj.DataLogManager;
+
+/**
+ * Runs robot startup as a graph of phases so that independent work (e.g. configuring the
+ * drivetrain's devices and the roller's) overlaps instead of running one after another.
+ *
+ * Background phases run on a small thread pool as soon as the phases they depend on have
+ * finished. Main-thread phases run immediately on the calling thread, after waiting for their
+ * dependencies; use them for anything that touches the {@link edu.wpi.first.wpilibj2.command.CommandScheduler}
+ * (constructing a {@code SubsystemBase}, binding triggers), which is not thread-safe.
+ *
+ * Every phase is timed, and {@link #logReport()} writes when each one ran, on which thread and for
+ * how long, so boot time can be tracked across changes.
+ */
+public final class BootOrchestrator implements AutoCloseable {
+    private final ExecutorService executor;
+    private final List<BootPhase<?>> phases = new ArrayList<>();
+    private final long createdNanos = System.nanoTime();
+
+    public BootOrchestrator() {
+        this(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    }
+
+    public BootOrchestrator(int threads) {
+        var counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "Boot-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a phase on the boot thread pool once all of its dependencies have finished. If a
+     * dependency fails, the phase doesn't run and fails with the same exception.
+     */
+    public <T> BootPhase<T> inBackground(String name, BootPhase.ThrowingSupplier<T> work, BootPhase<?>... dependsOn) {
+        var phase = new BootPhase<T>(name, false);
+        phases.add(phase);
+        CompletableFuture.allOf(futures(dependsOn)).whenCompleteAsync((ignored, failure) -> {
+            if (failure != null) {
+                phase.future.completeExceptionally(failure.getCause() != null ? failure.getCause() : failure);
+            } else {
+                phase.run(work);
+            }
+        }, executor);
+        return phase;
+    }
+
+    /**
+     * Waits for the dependencies, then runs the phase on the calling thread.
+     *
+     * @return the finished phase
+     * @throws RuntimeException the exception the phase or one of its dependencies failed with
+     */
+    public <T> BootPhase<T> onMainThread(String name, BootPhase.ThrowingSupplier<T> work, BootPhase<?>... dependsOn) {
+        var phase = new BootPhase<T>(name, true);
+        phases.add(phase);
+        for (var dependency : dependsOn) {
+            dependency.join();
+        }
+        phase.run(work);
+        phase.join();
+        return phase;
+    }
+
+    public BootPhase<Void> onMainThread(String name, Runnable work, BootPhase<?>... dependsOn) {
+        return onMainThread(name, () -> {
+            work.run();
+            return null;
+        }, dependsOn);
+    }
+
+    /**
+     * @return a table of every finished phase in start order, with offsets relative to when the
+     *         orchestrator was created, followed by the JVM uptime (close to time since the robot
+     *         program was launched)
+     */
+    public String report() {
+        var finished = new ArrayList<BootPhase<?>>();
+        for (var phase : phases) {
+            if (phase.future.isDone() && phase.endNanos() != 0) {
+                finished.add(phase);
+            }
+        }
+        finished.sort(Comparator.comparingLong(BootPhase::startNanos));
+
+        var report = new StringBuilder("Boot timing:\n");
+        long lastEnd = createdNanos;
+        long busy = 0;
+        for (var phase : finished) {
+            var duration = phase.endNanos() - phase.startNanos();
+            busy += duration;
+            lastEnd = Math.max(lastEnd, phase.endNanos());
+            report.append("  %-20s +%7.1fms  %7.1fms  %s%s%n".formatted(
+                phase.name(),
+                millis(phase.startNanos() - createdNanos),
+                millis(duration),
+                phase.threadName(),
+                phase.future.isCompletedExceptionally() ? "  FAILED" : ""
+            ));
+        }
+        report.append("  total %.1fms (%.1fms of work), JVM uptime %dms".formatted(
+            millis(lastEnd - createdNanos),
+            millis(busy),
+            ManagementFactory.getRuntimeMXBean().getUptime()
+        ));
+        return report.toString();
+    }
+
+    public void logReport() {
+        DataLogManager.log(report());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static CompletableFuture<?>[] futures(BootPhase<?>[] phases) {
+        var futures = new CompletableFuture<?>[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            futures[i] = phases[i].future;
+        }
+        return futures;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1E6;
+    }
+}
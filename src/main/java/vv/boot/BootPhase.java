@@ -0,0 +1,85 @@
+package vv.boot;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * One step of robot startup, created by {@link BootOrchestrator}. Other phases can depend on it,
+ * and {@link #join()} waits for its result.
+ */
+public final class BootPhase<T> {
+    private final String name;
+    private final boolean mainThread;
+    final CompletableFuture<T> future = new CompletableFuture<>();
+
+    // Written by the thread running the phase, read after the future completes
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile String threadName = "";
+
+    BootPhase(String name, boolean mainThread) {
+        this.name = name;
+        this.mainThread = mainThread;
+    }
+
+    void run(ThrowingSupplier<T> work) {
+        threadName = Thread.currentThread().getName();
+        startNanos = System.nanoTime();
+        try {
+            var result = work.get();
+            endNanos = System.nanoTime();
+            future.complete(result);
+        } catch (Throwable e) {
+            endNanos = System.nanoTime();
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Waits for the phase to finish.
+     *
+     * @return the phase's result
+     * @throws RuntimeException the exception the phase, or a phase it depends on, failed with
+     */
+    public T join() {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Boot phase '" + name + "' failed", e.getCause());
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isMainThread() {
+        return mainThread;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long endNanos() {
+        return endNanos;
+    }
+
+    String threadName() {
+        return threadName;
+    }
+
+    /**
+     * The work a phase does. Unlike {@link java.util.function.Supplier} it can throw checked exceptions.
+     */
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
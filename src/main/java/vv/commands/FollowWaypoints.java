@@ -0,0 +1,124 @@
+package vv.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import static vv.commands.utils.VVConstraints.generalRotationalConstraint;
+import static vv.commands.utils.VVConstraints.generalTrajectoryConfig;
+import vv.commands.utils.TrajectoryTracker;
+import vv.config.VVConfig;
+import vv.subsystems.drivetrain.DrivetrainIO;
+import vv.trajectories.SampledTrajectory;
+import vv.trajectories.WaypointTrajectories;
+
+/**
+ * Drives through a list of waypoints as one continuous trajectory, moving and turning at the same
+ * time without stopping at the intermediate waypoints. Use this instead of a sequence of
+ * {@link MoveRobotRelative} commands.
+ *
+ * The trajectory is generated from the robot's pose when the command starts, which takes a few
+ * milliseconds of loop time; paths known ahead of time should be precomputed and run with
+ * {@link PlayTrajectory} instead.
+ */
+public class FollowWaypoints extends Command {
+    private final DrivetrainIO drivetrain;
+    private final Function<Pose2d, List<Pose2d>> waypointsFrom;
+    private final TrajectoryConfig trajectoryConfig;
+    private final TrapezoidProfile.Constraints rotationLimits;
+    private final TrajectoryTracker tracker;
+    private final Timer timer = new Timer();
+    private SampledTrajectory trajectory;
+
+    /**
+     * Transforms that only turn are driven as a turn in place.
+     *
+     * @param transforms Moves relative to the robot, each applied to the pose reached by the one before
+     * @throws IllegalArgumentException if there are no transforms
+     */
+    public FollowWaypoints(VVConfig config, DrivetrainIO drivetrain, List<Transform2d> transforms) {
+        this(config, drivetrain, transformsFrom(transforms));
+    }
+
+    private static Function<Pose2d, List<Pose2d>> transformsFrom(List<Transform2d> transforms) {
+        if (transforms.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one transform to follow");
+        }
+        return start -> {
+            var waypoints = new ArrayList<Pose2d>(transforms.size() + 1);
+            var pose = start;
+            waypoints.add(pose);
+            for (var transform : transforms) {
+                pose = pose.transformBy(transform);
+                waypoints.add(pose);
+            }
+            return waypoints;
+        };
+    }
+
+    /**
+     * If the robot is already at the poses' position it turns in place, and if it's already at the
+     * last pose the command ends on its first cycle.
+     *
+     * @param poses Field poses to drive through, in order, after the robot's current pose
+     * @throws IllegalArgumentException if there are no poses
+     */
+    public static FollowWaypoints throughPoses(VVConfig config, DrivetrainIO drivetrain, List<Pose2d> poses) {
+        if (poses.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one pose to drive through");
+        }
+        return new FollowWaypoints(config, drivetrain, start -> {
+            var waypoints = new ArrayList<Pose2d>(poses.size() + 1);
+            waypoints.add(start);
+            waypoints.addAll(poses);
+            return waypoints;
+        });
+    }
+
+    private FollowWaypoints(VVConfig config, DrivetrainIO drivetrain, Function<Pose2d, List<Pose2d>> waypointsFrom) {
+        this.drivetrain = drivetrain;
+        this.waypointsFrom = waypointsFrom;
+        this.trajectoryConfig = generalTrajectoryConfig(config);
+        this.rotationLimits = generalRotationalConstraint(config);
+        this.tracker = new TrajectoryTracker(config);
+        addRequirements(drivetrain);
+    }
+
+    @Override
+    public void initialize() {
+        var start = drivetrain.getSnapshot().pose();
+        trajectory = WaypointTrajectories.generate(waypointsFrom.apply(start), trajectoryConfig, rotationLimits, TimedRobot.kDefaultPeriod);
+        tracker.reset();
+        timer.restart();
+    }
+
+    @Override
+    public void execute() {
+        tracker.drive(drivetrain, trajectory, timer.get());
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        timer.stop();
+        drivetrain.stop();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return timer.get() >= trajectory.duration() && tracker.atReference();
+    }
+
+    /**
+     * @return the trajectory generated by the last {@link #initialize()}, or null before the first run
+     */
+    public SampledTrajectory getTrajectory() {
+        return trajectory;
+    }
+}
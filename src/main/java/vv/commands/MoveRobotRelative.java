@@ -1,75 +1,235 @@
 package vv.commands;
 
+import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.controller.ProfiledPIDController;
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
 import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
+import static vv.commands.utils.VVPIDControllers.applyRotation;
+import static vv.commands.utils.VVPIDControllers.applyTranslation;
 import static vv.commands.utils.VVPIDControllers.generalRotationController;
 import static vv.commands.utils.VVPIDControllers.generalTranslationController;
+import vv.config.PIDConfig;
 import vv.config.VVConfig;
-import vv.subsystems.drivetrain.DrivetrainSubsystem;
+import vv.subsystems.drivetrain.DrivetrainIO;
+import vv.subsystems.drivetrain.HighRateControl;
 
+/**
+ * Moves the robot by a transform using a motion profile per axis. Each axis is driven with the
+ * profile's setpoint velocity as feedforward (scaled by the kFF gains) plus PID feedback on the
+ * position error, so the robot follows the trapezoid instead of lagging behind it.
+ *
+ * PID settings are re-read every loop, so gains reloaded while tuning apply to a running move.
+ *
+ * Moves created with {@link #atHighRate} run their control math on the drivetrain's high-rate
+ * control loop instead of in {@link #execute()}. The controllers are then only touched on the loop
+ * thread while the move runs, and the scheduler sees whether the goal was reached through a
+ * volatile flag.
+ */
 public class MoveRobotRelative extends Command {
     private final boolean debugLogging;
-    private final DrivetrainSubsystem drivetrain;
+    private final boolean highRate;
+    private final VVConfig config;
+    private final DrivetrainIO drivetrain;
     private final Transform2d transform;
     private final ProfiledPIDController xController;
     private final ProfiledPIDController yController;
     private final ProfiledPIDController rotController;
+    private double translationalFF;
+    private double rotationalFF;
+    private PIDConfig appliedPid;
 
-    public MoveRobotRelative(VVConfig config, DrivetrainSubsystem drivetrain, Transform2d transform) {
+    // Only used to work out how long the move should take
+    private TrapezoidProfile translationProfile;
+    private TrapezoidProfile rotationProfile;
+    private final Timer timer = new Timer();
+    private double profileTime = 0;
+    private double elapsedTime = 0;
+
+    // Written by the control loop thread in high-rate mode
+    private final HighRateControl control = this::calculate;
+    private volatile boolean reachedGoal = false;
+
+    public MoveRobotRelative(VVConfig config, DrivetrainIO drivetrain, Transform2d transform) {
         this(config, drivetrain, transform, false);
     }
 
-    public MoveRobotRelative(VVConfig config, DrivetrainSubsystem drivetrain, Transform2d transform, boolean debugLogging) {
+    public MoveRobotRelative(VVConfig config, DrivetrainIO drivetrain, Transform2d transform, boolean debugLogging) {
+        this(config, drivetrain, transform, false, debugLogging);
+    }
+
+    private MoveRobotRelative(VVConfig config, DrivetrainIO drivetrain, Transform2d transform, boolean highRate, boolean debugLogging) {
+        this.config = config;
         this.drivetrain = drivetrain;
         this.transform = transform;
+        this.highRate = highRate;
         this.debugLogging = debugLogging;
 
-        this.xController = generalTranslationController(config);
-        this.yController = generalTranslationController(config);
-        this.rotController = generalRotationController(config);
+        if (highRate) {
+            var period = drivetrain.getControlLoopPeriod();
+            this.xController = generalTranslationController(config, period);
+            this.yController = generalTranslationController(config, period);
+            this.rotController = generalRotationController(config, period);
+        } else {
+            this.xController = generalTranslationController(config);
+            this.yController = generalTranslationController(config);
+            this.rotController = generalRotationController(config);
+        }
+        applyPid(config.pid());
         addRequirements(drivetrain);
     }
 
+    /**
+     * A move whose control runs on the drivetrain's high-rate control loop
+     * ({@code drivetrain.control.loop.hz}) rather than once per scheduler cycle.
+     */
+    public static MoveRobotRelative atHighRate(VVConfig config, DrivetrainIO drivetrain, Transform2d transform) {
+        return new MoveRobotRelative(config, drivetrain, transform, true, false);
+    }
+
     @Override
     public void initialize() {
         if (debugLogging) {
             System.out.println("Initializing MoveRobotRelative command with transform: " + transform);
         }
-        var targetPose = this.drivetrain.getState().Pose.transformBy(transform);
+        refreshPid();
+        if (!highRate) {
+            // Sendables are polled by SmartDashboard.updateValues(), so they only need registering
+            // once. Not in high-rate mode, where the dashboard would race the control loop thread.
+            SmartDashboard.putData("MovePIDX", xController);
+            SmartDashboard.putData("MovePIDY", yController);
+            SmartDashboard.putData("MovePIDRot", rotController);
+        }
+        var currentPose = this.drivetrain.getSnapshot().pose();
+        var targetPose = currentPose.transformBy(transform);
+        xController.reset(currentPose.getX());
+        yController.reset(currentPose.getY());
+        rotController.reset(currentPose.getRotation().getRadians());
         xController.setGoal(new State(targetPose.getX(), 0));
         yController.setGoal(new State(targetPose.getY(), 0));
         rotController.setGoal(new State(targetPose.getRotation().getRadians(), 0));
+
+        profileTime = Math.max(
+            Math.max(
+                profileDuration(translationProfile, targetPose.getX() - currentPose.getX()),
+                profileDuration(translationProfile, targetPose.getY() - currentPose.getY())
+            ),
+            profileDuration(rotationProfile, MathUtil.angleModulus(transform.getRotation().getRadians()))
+        );
+        elapsedTime = 0;
+        timer.restart();
+        reachedGoal = false;
+        if (highRate) {
+            drivetrain.startHighRateControl(control);
+        }
     }
 
     @Override
     public void execute() {
-        var currentPose = this.drivetrain.getState().Pose;
-        var vx = xController.calculate(currentPose.getX());
-        var vy = yController.calculate(currentPose.getY());
-        var omega = rotController.calculate(currentPose.getRotation().getRadians());        
+        if (highRate) {
+            return;
+        }
+        refreshPid();
+        var currentPose = this.drivetrain.getSnapshot().pose();
+        // calculate() advances the profile, so read the setpoint after it
+        var vx = xController.calculate(currentPose.getX()) + translationalFF * xController.getSetpoint().velocity;
+        var vy = yController.calculate(currentPose.getY()) + translationalFF * yController.getSetpoint().velocity;
+        var omega = rotController.calculate(currentPose.getRotation().getRadians())
+            + rotationalFF * rotController.getSetpoint().velocity;
         drivetrain.driveFieldRelative(vx, vy, omega);
+    }
 
-        SmartDashboard.putData("MovePIDX", xController);
-        SmartDashboard.putData("MovePIDY", yController);
-        SmartDashboard.putData("MovePIDRot", rotController);
+    /**
+     * The same control as {@link #execute()}, run on the control loop thread in high-rate mode.
+     */
+    private void calculate(Pose2d currentPose, ChassisSpeeds out) {
+        refreshPid();
+        out.vxMetersPerSecond = xController.calculate(currentPose.getX()) + translationalFF * xController.getSetpoint().velocity;
+        out.vyMetersPerSecond = yController.calculate(currentPose.getY()) + translationalFF * yController.getSetpoint().velocity;
+        out.omegaRadiansPerSecond = rotController.calculate(currentPose.getRotation().getRadians())
+            + rotationalFF * rotController.getSetpoint().velocity;
+        reachedGoal = xController.atGoal() && yController.atGoal() && rotController.atGoal();
     }
 
     @Override
     public void end(boolean interrupted) {
+        if (highRate) {
+            // Once this returns the loop sends nothing more, so the stop below isn't overwritten
+            drivetrain.stopHighRateControl(control);
+        }
+        elapsedTime = timer.get();
+        timer.stop();
         if (debugLogging) {
             System.out.println("Ending MoveRobotRelative command, interrupted: " + interrupted);
+            System.out.println("Profile time: %.3fs, elapsed: %.3fs, settle: %.3fs".formatted(profileTime, elapsedTime, getSettleTime()));
         }
         drivetrain.stop();
     }
 
     @Override
     public boolean isFinished() {
+        if (highRate) {
+            return reachedGoal;
+        }
         if (debugLogging) {
             System.out.println("Goals - x: " + xController.atGoal() + ", y: " + yController.atGoal() + ", rot: " + rotController.atGoal());
         }
         return xController.atGoal() && yController.atGoal() && rotController.atGoal();
     }
+
+    /**
+     * @return how long the slowest axis' motion profile takes (seconds)
+     */
+    public double getProfileTime() {
+        return profileTime;
+    }
+
+    /**
+     * @return how long the last run took from initialize to end (seconds)
+     */
+    public double getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return how long the last run spent converging on the goal after the profile had finished (seconds)
+     */
+    public double getSettleTime() {
+        return Math.max(0, elapsedTime - profileTime);
+    }
+
+    /**
+     * Picks up reloaded PID settings. A reference comparison on a volatile read, so it costs
+     * nothing when the settings haven't changed.
+     */
+    private void refreshPid() {
+        var pid = config.pid();
+        if (pid != appliedPid) {
+            applyPid(pid);
+        }
+    }
+
+    private void applyPid(PIDConfig pid) {
+        applyTranslation(xController, pid);
+        applyTranslation(yController, pid);
+        applyRotation(rotController, pid);
+        translationalFF = pid.translationalGains().kFF();
+        rotationalFF = pid.rotationalGains().kFF();
+        var translation = pid.translationalConstraints();
+        var rotation = pid.rotationalConstraints();
+        translationProfile = new TrapezoidProfile(new Constraints(translation.maxV(), translation.maxA()));
+        rotationProfile = new TrapezoidProfile(new Constraints(rotation.maxV(), rotation.maxA()));
+        appliedPid = pid;
+    }
+
+    private static double profileDuration(TrapezoidProfile profile, double distance) {
+        profile.calculate(0, new State(0, 0), new State(distance, 0));
+        return profile.totalTime();
+    }
 }
@@ -0,0 +1,60 @@
+package vv.commands;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import vv.commands.utils.TrajectoryTracker;
+import vv.config.VVConfig;
+import vv.subsystems.drivetrain.DrivetrainIO;
+import vv.trajectories.SampledTrajectory;
+import vv.trajectories.TrajectoryCache;
+
+/**
+ * Plays a precomputed trajectory. Unlike {@link FollowWaypoints}, nothing is generated when the
+ * command starts; each loop is one O(1) sample lookup. The trajectory is driven relative to
+ * where the robot is when the command starts, like {@link FollowWaypoints}: its initial pose is
+ * mapped onto the robot's pose, so a routine still has its shape if odometry was never seeded or
+ * the robot has moved since power-on.
+ */
+public class PlayTrajectory extends Command {
+    private final DrivetrainIO drivetrain;
+    private final SampledTrajectory trajectory;
+    private final TrajectoryTracker tracker;
+    private final Timer timer = new Timer();
+
+    public PlayTrajectory(VVConfig config, DrivetrainIO drivetrain, SampledTrajectory trajectory) {
+        this.drivetrain = drivetrain;
+        this.trajectory = trajectory;
+        this.tracker = new TrajectoryTracker(config);
+        addRequirements(drivetrain);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cache has no trajectory with that id
+     */
+    public PlayTrajectory(VVConfig config, DrivetrainIO drivetrain, TrajectoryCache cache, String id) {
+        this(config, drivetrain, cache.get(id));
+    }
+
+    @Override
+    public void initialize() {
+        tracker.reset();
+        tracker.startFrom(trajectory.initialPose(), drivetrain.getSnapshot().pose());
+        timer.restart();
+    }
+
+    @Override
+    public void execute() {
+        tracker.drive(drivetrain, trajectory, timer.get());
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        timer.stop();
+        drivetrain.stop();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return timer.get() >= trajectory.duration() && tracker.atReference();
+    }
+}
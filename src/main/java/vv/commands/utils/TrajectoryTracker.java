@@ -0,0 +1,123 @@
+package vv.commands.utils;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.geometry.Pose2d;
+import static vv.commands.utils.VVPIDControllers.applyRotation;
+import static vv.commands.utils.VVPIDControllers.applyTranslation;
+import static vv.commands.utils.VVPIDControllers.trajectoryRotationController;
+import static vv.commands.utils.VVPIDControllers.trajectoryTranslationController;
+import vv.config.PIDConfig;
+import vv.config.VVConfig;
+import vv.subsystems.drivetrain.DrivetrainIO;
+import vv.trajectories.SampledTrajectory;
+
+/**
+ * Drives the robot along a {@link SampledTrajectory}: the trajectory's velocity as feedforward
+ * (scaled by the kFF gains) plus PID feedback on the position error. Shared by the commands that
+ * play trajectories; doesn't allocate per call. Reloaded PID settings are picked up on the next
+ * {@link #drive} call.
+ *
+ * By default the trajectory is followed in field coordinates. After {@link #startFrom} it is
+ * followed relative to the robot's starting pose instead: moved and rotated so that its initial
+ * pose lands on the robot.
+ */
+public class TrajectoryTracker {
+    private final VVConfig config;
+    private final PIDController xController;
+    private final PIDController yController;
+    private final PIDController rotController;
+    private double translationalFF;
+    private double rotationalFF;
+    private PIDConfig appliedPid;
+    private final double[] reference = new double[SampledTrajectory.STRIDE];
+
+    // Maps trajectory coordinates onto the field: rotate about the trajectory's start, then move to the robot's
+    private double originX;
+    private double originY;
+    private double startX;
+    private double startY;
+    private double rotation;
+    private double cos = 1.0;
+    private double sin = 0.0;
+
+    public TrajectoryTracker(VVConfig config) {
+        this.config = config;
+        this.xController = trajectoryTranslationController(config);
+        this.yController = trajectoryTranslationController(config);
+        this.rotController = trajectoryRotationController(config);
+        applyPid(config.pid());
+    }
+
+    /**
+     * Resets the controllers and goes back to following trajectories in field coordinates.
+     */
+    public void reset() {
+        xController.reset();
+        yController.reset();
+        rotController.reset();
+        startFrom(Pose2d.kZero, Pose2d.kZero);
+    }
+
+    /**
+     * Follows trajectories relative to where the robot starts, so one that begins at
+     * {@code trajectoryStart} is driven as though it began at {@code robotStart}.
+     */
+    public void startFrom(Pose2d trajectoryStart, Pose2d robotStart) {
+        originX = trajectoryStart.getX();
+        originY = trajectoryStart.getY();
+        startX = robotStart.getX();
+        startY = robotStart.getY();
+        rotation = robotStart.getRotation().minus(trajectoryStart.getRotation()).getRadians();
+        cos = Math.cos(rotation);
+        sin = Math.sin(rotation);
+    }
+
+    /**
+     * Commands the drivetrain towards the trajectory's state at time {@code t}.
+     */
+    public void drive(DrivetrainIO drivetrain, SampledTrajectory trajectory, double t) {
+        var pid = config.pid();
+        if (pid != appliedPid) {
+            applyPid(pid);
+        }
+        trajectory.sample(t, reference);
+        toField(reference);
+        var pose = drivetrain.getSnapshot().pose();
+        var vx = translationalFF * reference[SampledTrajectory.VX]
+            + xController.calculate(pose.getX(), reference[SampledTrajectory.X]);
+        var vy = translationalFF * reference[SampledTrajectory.VY]
+            + yController.calculate(pose.getY(), reference[SampledTrajectory.Y]);
+        var omega = rotationalFF * reference[SampledTrajectory.OMEGA]
+            + rotController.calculate(pose.getRotation().getRadians(), reference[SampledTrajectory.THETA]);
+        drivetrain.driveFieldRelative(vx, vy, omega);
+    }
+
+    private void toField(double[] state) {
+        var dx = state[SampledTrajectory.X] - originX;
+        var dy = state[SampledTrajectory.Y] - originY;
+        state[SampledTrajectory.X] = startX + dx * cos - dy * sin;
+        state[SampledTrajectory.Y] = startY + dx * sin + dy * cos;
+        var vx = state[SampledTrajectory.VX];
+        var vy = state[SampledTrajectory.VY];
+        state[SampledTrajectory.VX] = vx * cos - vy * sin;
+        state[SampledTrajectory.VY] = vx * sin + vy * cos;
+        state[SampledTrajectory.THETA] = MathUtil.angleModulus(state[SampledTrajectory.THETA] + rotation);
+    }
+
+    private void applyPid(PIDConfig pid) {
+        applyTranslation(xController, pid);
+        applyTranslation(yController, pid);
+        applyRotation(rotController, pid);
+        translationalFF = pid.translationalGains().kFF();
+        rotationalFF = pid.rotationalGains().kFF();
+        appliedPid = pid;
+    }
+
+    /**
+     * @return whether the last {@link #drive} call found the robot within tolerance of the reference
+     */
+    public boolean atReference() {
+        return xController.atSetpoint() && yController.atSetpoint() && rotController.atSetpoint();
+    }
+}
@@ -1,6 +1,8 @@
 package vv.commands.utils;
 
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
 import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import edu.wpi.first.math.trajectory.constraint.CentripetalAccelerationConstraint;
 import vv.config.VVConfig;
 
 public class VVConstraints {
@@ -14,4 +16,14 @@ public class VVConstraints {
         var c = config.pid().rotationalConstraints();
         return new Constraints(c.maxV(), c.maxA());
     }
+
+    /**
+     * Translational limits for generated trajectories. Centripetal acceleration is held to the
+     * same limit so the robot slows down through tight corners.
+     */
+    public static TrajectoryConfig generalTrajectoryConfig(VVConfig config) {
+        var c = config.pid().translationalConstraints();
+        return new TrajectoryConfig(c.maxV(), c.maxA())
+            .addConstraint(new CentripetalAccelerationConstraint(c.maxA()));
+    }
 }
@@ -1,30 +1,88 @@
 package vv.commands.utils;
 
+import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.ProfiledPIDController;
+import edu.wpi.first.math.trajectory.TrapezoidProfile.Constraints;
+import vv.config.PIDConfig;
 import vv.config.VVConfig;
 
+/**
+ * Factories for the controllers the drive commands use. The apply methods copy (possibly
+ * reloaded, see {@link vv.config.PIDConfigWatcher}) settings onto an existing controller, so
+ * commands can pick up new gains without rebuilding their controllers.
+ */
 public class VVPIDControllers {
     
     public static ProfiledPIDController generalTranslationController(VVConfig config) {
-        var controller = new ProfiledPIDController(
-            config.pid().translationalGains().kP(),
-            config.pid().translationalGains().kI(),
-            config.pid().translationalGains().kD(),
-            VVConstraints.generalTranlationalConstraint(config)
-        );
-        controller.setTolerance(config.pid().translationalConstraints().tolerance());
+        var controller = new ProfiledPIDController(0, 0, 0, VVConstraints.generalTranlationalConstraint(config));
+        applyTranslation(controller, config.pid());
+        return controller;
+    }
+
+    /**
+     * @param periodSeconds How often the controller is run, when that isn't the 20ms robot loop
+     */
+    public static ProfiledPIDController generalTranslationController(VVConfig config, double periodSeconds) {
+        var controller = new ProfiledPIDController(0, 0, 0, VVConstraints.generalTranlationalConstraint(config), periodSeconds);
+        applyTranslation(controller, config.pid());
         return controller;
     }
 
     public static ProfiledPIDController generalRotationController(VVConfig config) {
-        var controller = new ProfiledPIDController(
-            config.pid().rotationalGains().kP(),
-            config.pid().rotationalGains().kI(),
-            config.pid().rotationalGains().kD(),
-            VVConstraints.generalRotationalConstraint(config)
-        );
+        var controller = new ProfiledPIDController(0, 0, 0, VVConstraints.generalRotationalConstraint(config));
+        controller.enableContinuousInput(-Math.PI, Math.PI);
+        applyRotation(controller, config.pid());
+        return controller;
+    }
+
+    public static ProfiledPIDController generalRotationController(VVConfig config, double periodSeconds) {
+        var controller = new ProfiledPIDController(0, 0, 0, VVConstraints.generalRotationalConstraint(config), periodSeconds);
+        controller.enableContinuousInput(-Math.PI, Math.PI);
+        applyRotation(controller, config.pid());
+        return controller;
+    }
+
+    /**
+     * Unprofiled feedback for tracking a trajectory, which supplies its own setpoints.
+     */
+    public static PIDController trajectoryTranslationController(VVConfig config) {
+        var controller = new PIDController(0, 0, 0);
+        applyTranslation(controller, config.pid());
+        return controller;
+    }
+
+    public static PIDController trajectoryRotationController(VVConfig config) {
+        var controller = new PIDController(0, 0, 0);
         controller.enableContinuousInput(-Math.PI, Math.PI);
-        controller.setTolerance(config.pid().rotationalConstraints().tolerance());
+        applyRotation(controller, config.pid());
         return controller;
     }
+
+    public static void applyTranslation(ProfiledPIDController controller, PIDConfig pid) {
+        var gains = pid.translationalGains();
+        var constraints = pid.translationalConstraints();
+        controller.setPID(gains.kP(), gains.kI(), gains.kD());
+        controller.setConstraints(new Constraints(constraints.maxV(), constraints.maxA()));
+        controller.setTolerance(constraints.tolerance());
+    }
+
+    public static void applyRotation(ProfiledPIDController controller, PIDConfig pid) {
+        var gains = pid.rotationalGains();
+        var constraints = pid.rotationalConstraints();
+        controller.setPID(gains.kP(), gains.kI(), gains.kD());
+        controller.setConstraints(new Constraints(constraints.maxV(), constraints.maxA()));
+        controller.setTolerance(constraints.tolerance());
+    }
+
+    public static void applyTranslation(PIDController controller, PIDConfig pid) {
+        var gains = pid.translationalGains();
+        controller.setPID(gains.kP(), gains.kI(), gains.kD());
+        controller.setTolerance(pid.translationalConstraints().tolerance());
+    }
+
+    public static void applyRotation(PIDController controller, PIDConfig pid) {
+        var gains = pid.rotationalGains();
+        controller.setPID(gains.kP(), gains.kI(), gains.kD());
+        controller.setTolerance(pid.rotationalConstraints().tolerance());
+    }
 }
@@ -0,0 +1,31 @@
+package vv.config;
+
+import java.util.Objects;
+import java.util.Properties;
+
+import static edu.wpi.first.units.Units.Seconds;
+import edu.wpi.first.units.measure.Time;
+import static vv.config.PropertyReaders.readBooleanProperty;
+import static vv.config.PropertyReaders.readDoubleProperty;
+
+/**
+ * @param deviceConfigBudget How long boot waits for device configs to be checked and applied
+ * @param trustDeviceConfigCache Whether a device whose config fingerprint matches the on-disk cache
+ *                               is skipped without reading its config back
+ */
+public record BootConfig(
+    Time deviceConfigBudget,
+    Boolean trustDeviceConfigCache
+) {
+    public BootConfig {
+        Objects.requireNonNull(deviceConfigBudget, "Device config budget cannot be null");
+        Objects.requireNonNull(trustDeviceConfigCache, "Device config cache trust cannot be null");
+    }
+
+    public static BootConfig fromProperties(Properties props) {
+        return new BootConfig(
+            Seconds.of(readDoubleProperty(props, "boot.device.config.budget.s")),
+            readBooleanProperty(props, "boot.device.config.trust.cache")
+        );
+    }
+}
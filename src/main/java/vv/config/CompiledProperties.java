@@ -0,0 +1,99 @@
+package vv.config;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Properties loaded from a {@link ConfigSnapshot}. Values that were numbers or booleans in the
+ * source file are kept already converted, unboxed in arrays parallel to the sorted keys, so
+ * {@link PropertyReaders} can return them with a binary search and no parsing. Every value is
+ * also available as a string through {@link #getProperty(String)}, so readers that don't know
+ * about snapshots behave exactly as with the text file.
+ */
+public class CompiledProperties extends Properties {
+    static final byte STRING = 0;
+    static final byte INTEGER = 1;
+    static final byte DOUBLE = 2;
+    static final byte BOOLEAN = 3;
+
+    private final String[] keys;
+    private final byte[] types;
+    private final int[] ints;
+    private final double[] doubles;
+    private final boolean[] booleans;
+    private int size = 0;
+
+    CompiledProperties(int capacity) {
+        keys = new String[capacity];
+        types = new byte[capacity];
+        ints = new int[capacity];
+        doubles = new double[capacity];
+        booleans = new boolean[capacity];
+    }
+
+    // Keys must be added in sorted order
+
+    void putString(String key, String raw) {
+        add(key, raw, STRING);
+    }
+
+    void putInteger(String key, String raw, int value) {
+        ints[add(key, raw, INTEGER)] = value;
+    }
+
+    void putDouble(String key, String raw, double value) {
+        doubles[add(key, raw, DOUBLE)] = value;
+    }
+
+    void putBoolean(String key, String raw, boolean value) {
+        booleans[add(key, raw, BOOLEAN)] = value;
+    }
+
+    private int add(String key, String raw, byte type) {
+        if (size > 0 && keys[size - 1].compareTo(key) >= 0) {
+            throw new IllegalArgumentException("Key '%s' added after '%s'".formatted(key, keys[size - 1]));
+        }
+        setProperty(key, raw);
+        keys[size] = key;
+        types[size] = type;
+        return size++;
+    }
+
+    int integerValue(String key) {
+        var i = indexOf(key);
+        if (i >= 0 && types[i] == INTEGER) {
+            return ints[i];
+        }
+        return Integer.parseInt(requireString(key));
+    }
+
+    double doubleValue(String key) {
+        var i = indexOf(key);
+        if (i >= 0 && types[i] == DOUBLE) {
+            return doubles[i];
+        }
+        if (i >= 0 && types[i] == INTEGER) {
+            return ints[i];
+        }
+        return Double.parseDouble(requireString(key));
+    }
+
+    boolean booleanValue(String key) {
+        var i = indexOf(key);
+        if (i >= 0 && types[i] == BOOLEAN) {
+            return booleans[i];
+        }
+        return Boolean.parseBoolean(requireString(key));
+    }
+
+    private int indexOf(String key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private String requireString(String key) {
+        var raw = getProperty(key);
+        Objects.requireNonNull(raw, "Property '%s' not found in properties".formatted(key));
+        return raw;
+    }
+}
@@ -0,0 +1,43 @@
+package vv.config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Build-time entry point (the {@code compileConfig} Gradle task). Validates each properties file
+ * by building a full {@link VVConfig} from it, so a missing or malformed key fails the build
+ * instead of robot startup, then writes its {@link ConfigSnapshot}.
+ *
+ * Usage: {@code ConfigCompiler <config.properties>...}
+ */
+public final class ConfigCompiler {
+
+    private ConfigCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ConfigCompiler <config.properties>...");
+            System.exit(2);
+        }
+        for (var arg : args) {
+            compile(Path.of(arg));
+            System.out.println("Compiled " + ConfigSnapshot.snapshotPath(Path.of(arg)));
+        }
+    }
+
+    /**
+     * @throws RuntimeException (or Error) if the file is not a valid robot config
+     */
+    public static void compile(Path source) throws IOException {
+        var bytes = Files.readAllBytes(source);
+        var props = new Properties();
+        // Same decoding as the FileReader the text path uses
+        props.load(new StringReader(new String(bytes, StandardCharsets.UTF_8)));
+        VVConfig.fromProperties(props);
+        ConfigSnapshot.write(source, bytes, props);
+    }
+}
@@ -0,0 +1,145 @@
+package vv.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import static vv.config.CompiledProperties.BOOLEAN;
+import static vv.config.CompiledProperties.DOUBLE;
+import static vv.config.CompiledProperties.INTEGER;
+import static vv.config.CompiledProperties.STRING;
+
+/**
+ * Binary snapshot of a {@code .properties} file, written next to it as
+ * {@code <file>.snapshot} by {@link ConfigCompiler} at build time. Loading one is a single file
+ * read and a linear decode, with numbers and booleans already converted.
+ *
+ * Checking for staleness doesn't read the text file. The snapshot stores the size of the file it
+ * was compiled from, and the text is used instead if the file's size has changed or it was
+ * modified after the snapshot was written. Deploying copies both files in no particular order, so
+ * a source up to {@value #DEPLOY_SKEW_MILLIS} ms newer than its snapshot still counts as current.
+ *
+ * <pre>
+ * int  magic ('VVCF'), int version, long source size, int entry count
+ * entries, sorted by key: UTF key, UTF raw value, byte type, typed value (int / double / boolean / nothing)
+ * </pre>
+ */
+public final class ConfigSnapshot {
+    public static final String EXTENSION = ".snapshot";
+    private static final int MAGIC = 0x56564346;
+    private static final int VERSION = 2;
+    private static final long DEPLOY_SKEW_MILLIS = 10_000;
+
+    private ConfigSnapshot() {}
+
+    public static Path snapshotPath(Path source) {
+        return source.resolveSibling(source.getFileName() + EXTENSION);
+    }
+
+    /**
+     * @return the snapshot's properties, or empty if there is no snapshot or it doesn't match the source file
+     */
+    public static Optional<Properties> read(Path source) {
+        var snapshot = snapshotPath(source);
+        if (!Files.isRegularFile(snapshot)) {
+            return Optional.empty();
+        }
+        try {
+            var sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+            var snapshotModified = Files.getLastModifiedTime(snapshot).toMillis();
+            var in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(snapshot)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                System.err.println("Config snapshot %s has an old format, reading %s instead".formatted(snapshot, source));
+                return Optional.empty();
+            }
+            if (in.readLong() != sourceAttributes.size()
+                    || sourceAttributes.lastModifiedTime().toMillis() > snapshotModified + DEPLOY_SKEW_MILLIS) {
+                System.err.println("Config snapshot %s is stale, reading %s instead".formatted(snapshot, source));
+                return Optional.empty();
+            }
+
+            var count = in.readInt();
+            var props = new CompiledProperties(count);
+            for (int i = 0; i < count; i++) {
+                var key = in.readUTF();
+                var raw = in.readUTF();
+                switch (in.readByte()) {
+                    case INTEGER -> props.putInteger(key, raw, in.readInt());
+                    case DOUBLE -> props.putDouble(key, raw, in.readDouble());
+                    case BOOLEAN -> props.putBoolean(key, raw, in.readBoolean());
+                    default -> props.putString(key, raw);
+                }
+            }
+            return Optional.of(props);
+        } catch (IOException e) {
+            System.err.println("Unable to read config snapshot %s, reading %s instead: %s".formatted(snapshot, source, e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot for a properties file, replacing any existing one.
+     *
+     * @param sourceBytes The exact bytes of the properties file; their length is kept for the staleness check
+     * @param props The parsed properties
+     */
+    public static void write(Path source, byte[] sourceBytes, Properties props) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceBytes.length);
+
+        var keys = new TreeSet<>(props.stringPropertyNames());
+        out.writeInt(keys.size());
+        for (var key : keys) {
+            var raw = props.getProperty(key);
+            out.writeUTF(key);
+            out.writeUTF(raw);
+            writeTyped(out, raw);
+        }
+        out.flush();
+
+        var snapshot = snapshotPath(source);
+        var temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stores the value in the narrowest form {@link PropertyReaders} could parse it as.
+     */
+    private static void writeTyped(DataOutputStream out, String raw) throws IOException {
+        if (raw.equalsIgnoreCase("true") || raw.equalsIgnoreCase("false")) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(Boolean.parseBoolean(raw));
+            return;
+        }
+        try {
+            var value = Integer.parseInt(raw);
+            out.writeByte(INTEGER);
+            out.writeInt(value);
+            return;
+        } catch (NumberFormatException e) {
+            // Not an integer
+        }
+        try {
+            var value = Double.parseDouble(raw);
+            out.writeByte(DOUBLE);
+            out.writeDouble(value);
+            return;
+        } catch (NumberFormatException e) {
+            // Not a number
+        }
+        out.writeByte(STRING);
+    }
+}
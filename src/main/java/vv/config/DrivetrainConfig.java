@@ -12,6 +12,7 @@ import com.ctre.phoenix6.swerve.SwerveModuleConstants.SteerFeedbackType;
 import com.ctre.phoenix6.swerve.SwerveModuleConstants.SteerMotorArrangement;
 
 import static edu.wpi.first.units.Units.Amp;
+import static edu.wpi.first.units.Units.Hertz;
 import static edu.wpi.first.units.Units.Inches;
 import static edu.wpi.first.units.Units.KilogramSquareMeters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
@@ -23,6 +24,7 @@ import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.Frequency;
 import edu.wpi.first.units.measure.LinearVelocity;
 import edu.wpi.first.units.measure.MomentOfInertia;
 import edu.wpi.first.units.measure.Time;
@@ -35,6 +37,8 @@ public record DrivetrainConfig(
     String hootFilepath,
     PigeonConfig pigeon,
     Time discretizationDelta,
+    Integer poseHistoryCapacity,
+    Frequency controlLoopFreq,
     Constants constants,
     SwerveModuleConfig frontLeftModule,
     SwerveModuleConfig frontRightModule,
@@ -45,6 +49,8 @@ public record DrivetrainConfig(
         Objects.requireNonNull(hootFilepath);
         Objects.requireNonNull(pigeon);
         Objects.requireNonNull(discretizationDelta);
+        Objects.requireNonNull(poseHistoryCapacity);
+        Objects.requireNonNull(controlLoopFreq);
         Objects.requireNonNull(constants);
         Objects.requireNonNull(frontLeftModule);
         Objects.requireNonNull(frontRightModule);
@@ -58,6 +64,8 @@ public record DrivetrainConfig(
             p.getProperty("drivetrain.canbus.hoot.filepath"),
             PigeonConfig.fromProperties(p),
             Time.ofBaseUnits(delta, Seconds),
+            readIntegerProperty(p, "drivetrain.pose.history.capacity"),
+            Hertz.of(readDoubleProperty(p, "drivetrain.control.loop.hz")),
             Constants.fromProperties(p),
             SwerveModuleConfig.fromProperties(p, "front.left"),
             SwerveModuleConfig.fromProperties(p, "front.right"),
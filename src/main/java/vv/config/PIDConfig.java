@@ -59,15 +59,20 @@ public record PIDConfig(
         }
     }
 
+    /**
+     * @param kFF Velocity feedforward: fraction of the motion profile's setpoint velocity added to the PID output
+     */
     public static record PIDGains(
         Double kP,
         Double kI,
-        Double kD
+        Double kD,
+        Double kFF
     ) {
         public PIDGains {
             Objects.requireNonNull(kP);
             Objects.requireNonNull(kI);
             Objects.requireNonNull(kD);
+            Objects.requireNonNull(kFF);
         }
 
         static PIDGains fromProperties(Properties props, String type) {
@@ -75,7 +80,8 @@ public record PIDConfig(
             return new PIDGains(
                 readDoubleProperty(props, prefix + "kp"),
                 readDoubleProperty(props, prefix + "ki"),
-                readDoubleProperty(props, prefix + "kd")
+                readDoubleProperty(props, prefix + "kd"),
+                readDoubleProperty(props, prefix + "kff")
             );
         }
     }
@@ -0,0 +1,113 @@
+package vv.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads the PID settings when the config file changes, so gains can be tuned without
+ * restarting robot code. A daemon thread waits on a {@link WatchService}, re-parses the file and,
+ * if the {@code pid.*} settings parse and differ, swaps a new immutable {@link PIDConfig} into the
+ * {@link VVConfig}. The main loop never waits on this: it just sees a different
+ * {@link VVConfig#pid()} reference on its next read.
+ *
+ * Only PID settings are reloaded. A file that fails to parse is reported and the current gains
+ * are kept.
+ */
+public final class PIDConfigWatcher implements AutoCloseable {
+
+    private final VVConfig config;
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+    private final AtomicLong rejectedReloads = new AtomicLong();
+
+    private PIDConfigWatcher(VVConfig config, Path file) throws IOException {
+        this.config = config;
+        this.file = file.toAbsolutePath().normalize();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        // Editors often save by writing a new file and renaming it over the old one, so watch
+        // the directory rather than the file
+        this.file.getParent().register(
+            watchService,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_CREATE
+        );
+        this.thread = new Thread(this::watch, "PIDConfigWatcher");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Starts watching the file the config was read from.
+     *
+     * @throws IllegalArgumentException if the config wasn't read from a file
+     */
+    public static PIDConfigWatcher start(VVConfig config) throws IOException {
+        if (config.source() == null) {
+            throw new IllegalArgumentException("Config was not read from a file, so there is nothing to watch");
+        }
+        var watcher = new PIDConfigWatcher(config, config.source());
+        watcher.thread.start();
+        return watcher;
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                var key = watchService.take();
+                var changed = false;
+                for (var event : key.pollEvents()) {
+                    if (event.context() instanceof Path name && file.getFileName().equals(name)) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private void reload() {
+        try {
+            var props = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+            var reloaded = PIDConfig.fromProperties(props);
+            if (!reloaded.equals(config.pid())) {
+                config.replacePid(reloaded);
+                System.out.println("Reloaded PID config from " + file + ": " + reloaded);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Often a half-written file mid-save; the next event will retry
+            System.err.println("Ignoring PID config change in %s: %s".formatted(file, e));
+            rejectedReloads.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return how many times the file changed but couldn't be read or parsed, so the gains were kept
+     */
+    public long rejectedReloads() {
+        return rejectedReloads.get();
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        watchService.close();
+        thread.join();
+    }
+}
@@ -5,15 +5,26 @@ import java.util.Properties;
 
 public class PropertyReaders {
     
+    // Properties from a config snapshot are already converted, so skip the parse
+
     public static Integer readIntegerProperty(Properties p, String property) {
+        if (p instanceof CompiledProperties compiled) {
+            return compiled.integerValue(property);
+        }
         return Integer.valueOf(readOrThrow(p, property));
     }
 
     public static Boolean readBooleanProperty(Properties p, String property) {
+        if (p instanceof CompiledProperties compiled) {
+            return compiled.booleanValue(property);
+        }
         return Boolean.valueOf(readOrThrow(p, property));
     }
 
     public static Double readDoubleProperty(Properties p, String property) {
+        if (p instanceof CompiledProperties compiled) {
+            return compiled.doubleValue(property);
+        }
         return Double.valueOf(readOrThrow(p, property));
     }
 
@@ -3,23 +3,28 @@ package vv.config;
 import java.util.Objects;
 import java.util.Properties;
 
+import static edu.wpi.first.units.Units.Hertz;
+import edu.wpi.first.units.measure.Frequency;
 import static vv.config.PropertyReaders.readDoubleProperty;
 import static vv.config.PropertyReaders.readIntegerProperty;
 
 public record RollerConfig(
     MotorConfig motor,
-    LEDConfig led
+    LEDConfig led,
+    Double outputRefreshSeconds
 ) {
  
     public RollerConfig {
         Objects.requireNonNull(motor, "Motor config cannot be null");
         Objects.requireNonNull(led, "LED config cannot be null");
+        Objects.requireNonNull(outputRefreshSeconds, "Output refresh interval cannot be null");
     }
 
     public static RollerConfig fromProperties(Properties props) {
         return new RollerConfig(
             MotorConfig.fromProperties(props),
-            LEDConfig.fromProperties(props)
+            LEDConfig.fromProperties(props),
+            readDoubleProperty(props, "roller.output.refresh.s")
         );
     }
 
@@ -27,13 +32,17 @@ public record RollerConfig(
         Integer port,
         Double intakeSpeed,
         Double outputSpeed,
-        Double idleSpeed
+        Double idleSpeed,
+        Frequency signalUpdateFreq,
+        Double statorCurrentLimitAmps
     ) {
         public MotorConfig {
             Objects.requireNonNull(port, "Port cannot be null");
             Objects.requireNonNull(intakeSpeed, "Intake speed cannot be null");
             Objects.requireNonNull(outputSpeed, "Output speed cannot be null");
             Objects.requireNonNull(idleSpeed, "Idle speed cannot be null");
+            Objects.requireNonNull(signalUpdateFreq, "Signal update frequency cannot be null");
+            Objects.requireNonNull(statorCurrentLimitAmps, "Stator current limit cannot be null");
         }
 
         public static MotorConfig fromProperties(Properties props) {
@@ -41,22 +50,32 @@ public record RollerConfig(
                 readIntegerProperty(props, "roller.motor.port"),
                 readDoubleProperty(props, "roller.motor.intake.speed"),
                 readDoubleProperty(props, "roller.motor.output.speed"),
-                readDoubleProperty(props, "roller.motor.idle.speed")
+                readDoubleProperty(props, "roller.motor.idle.speed"),
+                Hertz.of(readDoubleProperty(props, "roller.motor.signal.update.hz")),
+                readDoubleProperty(props, "roller.motor.stator.current.limit.amps")
             );
         }
     }
 
     public static record LEDConfig(
-        Integer port
+        Integer port,
+        Integer length,
+        Double framesPerSecond
     ) {
         public LEDConfig {
             Objects.requireNonNull(port, "Port cannot be null");
+            Objects.requireNonNull(length, "Length cannot be null");
+            Objects.requireNonNull(framesPerSecond, "Frame rate cannot be null");
             assert port >= 0 && port <= 9 : "LED Port must be a PWM port between 0 and 9";
+            assert length > 0 : "LED length must be positive";
+            assert framesPerSecond > 0 : "LED frame rate must be positive";
         }
 
         public static LEDConfig fromProperties(Properties props) {
             return new LEDConfig(
-                readIntegerProperty(props, "roller.led.port")
+                readIntegerProperty(props, "roller.led.port"),
+                readIntegerProperty(props, "roller.led.length"),
+                readDoubleProperty(props, "roller.led.fps")
             );
         }
     }
@@ -0,0 +1,26 @@
+package vv.config;
+
+import java.util.Objects;
+import java.util.Properties;
+
+import static edu.wpi.first.units.Units.Hertz;
+import edu.wpi.first.units.measure.Frequency;
+import static vv.config.PropertyReaders.readDoubleProperty;
+
+/**
+ * @param publishRate How often the telemetry thread publishes changed values to NetworkTables
+ */
+public record TelemetryConfig(
+    Frequency publishRate
+) {
+    public TelemetryConfig {
+        Objects.requireNonNull(publishRate, "Publish rate cannot be null");
+        assert publishRate.in(Hertz) > 0 : "Telemetry publish rate must be positive";
+    }
+
+    public static TelemetryConfig fromProperties(Properties props) {
+        return new TelemetryConfig(
+            Hertz.of(readDoubleProperty(props, "telemetry.rate.hz"))
+        );
+    }
+}
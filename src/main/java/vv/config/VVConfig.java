@@ -3,33 +3,58 @@ package vv.config;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Properties;
 
 public class VVConfig {
 
     private final DrivetrainConfig drivetrainConfig; 
-    private final PIDConfig pid;
+    // Swapped whole by PIDConfigWatcher; readers compare references to notice a reload
+    private volatile PIDConfig pid;
     private final SimulationConfig simulation;
     private final ControllersConfig controllers;
     private final RollerConfig roller;
+    private final TelemetryConfig telemetry;
+    private final BootConfig boot;
+    private final Path source;
 
-    private VVConfig(String filePath) {
-        var props = readFileConfig(filePath);
+    private VVConfig(Properties props, Path source) {
+        this.source = source;
         this.drivetrainConfig = DrivetrainConfig.fromProperties(props);
         this.pid = PIDConfig.fromProperties(props);
         this.simulation = SimulationConfig.fromProperties(props);
         this.controllers = ControllersConfig.fromProperties(props);
         this.roller = RollerConfig.fromProperties(props);
+        this.telemetry = TelemetryConfig.fromProperties(props);
+        this.boot = BootConfig.fromProperties(props);
     }
 
     public DrivetrainConfig drivetrain() {
         return this.drivetrainConfig;
     }
 
+    /**
+     * @return the current PID settings. These can be replaced at runtime (see {@link PIDConfigWatcher}),
+     * so controllers should re-read this each loop rather than keep the first value.
+     */
     public PIDConfig pid() {
         return this.pid;
     }
 
+    /**
+     * Swaps in new PID settings. Running controllers pick them up on their next loop.
+     */
+    public void replacePid(PIDConfig pid) {
+        this.pid = pid;
+    }
+
+    /**
+     * @return the properties file this config was read from, or null if it wasn't read from a file
+     */
+    public Path source() {
+        return this.source;
+    }
+
     public SimulationConfig simulation() {
         return this.simulation;
     }
@@ -42,14 +67,36 @@ public class VVConfig {
         return this.roller;
     }
 
+    public TelemetryConfig telemetry() {
+        return this.telemetry;
+    }
+
+    public BootConfig boot() {
+        return this.boot;
+    }
+
+    /**
+     * Loads the config from the compiled snapshot next to the file (see {@link ConfigSnapshot}),
+     * or parses the text file if there is no up-to-date snapshot.
+     */
     public static VVConfig readFromPath(String filePath) {
-        return new VVConfig(filePath);
+        return new VVConfig(ConfigSnapshot.read(Path.of(filePath)).orElseGet(() -> readFileConfig(filePath)), Path.of(filePath));
+    }
+
+    /**
+     * Always parses the text file, ignoring any snapshot.
+     */
+    public static VVConfig readFromText(String filePath) {
+        return new VVConfig(readFileConfig(filePath), Path.of(filePath));
+    }
+
+    static VVConfig fromProperties(Properties props) {
+        return new VVConfig(props, null);
     }
 
     private static Properties readFileConfig(String path) {
         var properties = new Properties();
-        try {
-            var reader = new FileReader(path);
+        try (var reader = new FileReader(path)) {
             properties.load(reader);
             return properties;
         } catch (FileNotFoundException e) {
@@ -23,6 +23,16 @@ public class DriverControls {
     private final double rotationalDeadband;
     private final double rumbleIntensity;
 
+    // Teleop drive state, reused every scheduler tick so the default command doesn't allocate
+    private final SwerveRequest.FieldCentric teleopRequest = new SwerveRequest.FieldCentric()
+        .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
+    private DrivetrainSubsystem drivetrain;
+    private double maxLinearSpeed;
+    private double maxRotationalSpeed;
+    private double leftX;
+    private double leftY;
+    private double rightX;
+
     public DriverControls(ControllersConfig config) {
         controller = new CommandXboxController(config.driver().port());
         sim = new XboxControllerSim(controller.getHID());
@@ -33,20 +43,32 @@ public class DriverControls {
     }
 
     public void setupTriggers(VVConfig config, DrivetrainSubsystem drivetrain) {
-        var maxLinearSpeed = config.drivetrain().constants().maxLinearSpeed().in(MetersPerSecond);
-        var maxRotationalSpeed = config.drivetrain().constants().maxRotationsPerSecond().in(RadiansPerSecond);
+        this.drivetrain = drivetrain;
+        maxLinearSpeed = config.drivetrain().constants().maxLinearSpeed().in(MetersPerSecond);
+        maxRotationalSpeed = config.drivetrain().constants().maxRotationsPerSecond().in(RadiansPerSecond);
+        teleopRequest
+            .withDeadband(maxLinearSpeed * this.translationalDeadband)
+            .withRotationalDeadband(maxRotationalSpeed * this.rotationalDeadband);
 
         drivetrain.setDefaultCommand(
-			drivetrain.applyRequest(() -> new SwerveRequest.FieldCentric()
-		        .withDeadband(maxLinearSpeed * this.translationalDeadband)
-                .withRotationalDeadband(maxRotationalSpeed * this.rotationalDeadband)
-		        .withDriveRequestType(DriveRequestType.OpenLoopVoltage)
-                .withVelocityX(drivetrain.clampLinearVelocity(-controller.getLeftY() * maxLinearSpeed))
-				.withVelocityY(drivetrain.clampLinearVelocity(-controller.getLeftX() * maxLinearSpeed))
-				.withRotationalRate(drivetrain.clampAngularVelocity(-controller.getRightX() * maxRotationalSpeed))
-			)
-            .withName("DriveWithController")
-		);
+            drivetrain.applyRequest(this::teleopRequest)
+                .withName("DriveWithController")
+        );
+    }
+
+    /**
+     * Updates the preallocated field-centric request from the current stick positions.
+     * This is the default command's supplier and runs every scheduler tick.
+     */
+    SwerveRequest.FieldCentric teleopRequest() {
+        leftX = controller.getLeftX();
+        leftY = controller.getLeftY();
+        rightX = controller.getRightX();
+
+        teleopRequest.VelocityX = drivetrain.clampLinearVelocity(-leftY * maxLinearSpeed);
+        teleopRequest.VelocityY = drivetrain.clampLinearVelocity(-leftX * maxLinearSpeed);
+        teleopRequest.RotationalRate = drivetrain.clampAngularVelocity(-rightX * maxRotationalSpeed);
+        return teleopRequest;
     }
 
     public Command rumble() {
@@ -0,0 +1,56 @@
+package vv.controls;
+
+import java.nio.ByteBuffer;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Samples controller inputs once per loop into an {@link InputTrace}. Reads straight from the
+ * {@link DriverStation} cache, so it records real and simulated controllers alike, and appends to
+ * a preallocated buffer, so sampling doesn't allocate (except to grow the buffer, which doubles).
+ */
+public final class InputRecorder {
+    private final int[] ports;
+    private ByteBuffer frames;
+    private int frameCount = 0;
+
+    /**
+     * @param ports Driver station ports of the controllers to record, in trace order
+     */
+    public InputRecorder(int... ports) {
+        this.ports = ports.clone();
+        // About a minute at 50 Hz before the first resize
+        this.frames = ByteBuffer.allocate(3000 * ports.length * InputTrace.CONTROLLER_BYTES);
+    }
+
+    public void sample() {
+        if (frames.remaining() < ports.length * InputTrace.CONTROLLER_BYTES) {
+            var grown = ByteBuffer.allocate(frames.capacity() * 2);
+            grown.put(frames.flip());
+            frames = grown;
+        }
+        for (var port : ports) {
+            // Only read what the controller reports, so a disconnected one doesn't warn every loop
+            var axisCount = DriverStation.getStickAxisCount(port);
+            for (int axis = 0; axis < InputTrace.AXES; axis++) {
+                frames.putShort(InputTrace.encodeAxis(axis < axisCount ? DriverStation.getStickAxis(port, axis) : 0.0));
+            }
+            frames.putShort((short) (DriverStation.getStickButtons(port) & ((1 << InputTrace.BUTTONS) - 1)));
+            frames.putShort((short) (DriverStation.getStickPOVCount(port) > 0 ? DriverStation.getStickPOV(port, 0) : -1));
+        }
+        frameCount++;
+    }
+
+    public int frameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return a copy of everything recorded so far; recording can continue afterwards
+     */
+    public InputTrace trace() {
+        var copy = ByteBuffer.allocate(frames.position());
+        copy.put(frames.duplicate().flip()).flip();
+        return new InputTrace(ports.length, frameCount, copy);
+    }
+}
@@ -0,0 +1,62 @@
+package vv.controls;
+
+import edu.wpi.first.wpilibj.simulation.XboxControllerSim;
+
+/**
+ * Plays an {@link InputTrace} back into simulated controllers, one frame per call to
+ * {@link #step()}, so a recorded session drives the robot code exactly as it was recorded.
+ */
+public final class InputReplayer {
+    private final InputTrace trace;
+    private final XboxControllerSim[] sims;
+    private int frame = 0;
+
+    /**
+     * @param sims One simulated controller per controller in the trace, in trace order
+     */
+    public InputReplayer(InputTrace trace, XboxControllerSim... sims) {
+        if (sims.length != trace.controllers()) {
+            throw new IllegalArgumentException("Trace has %d controllers, got %d sims".formatted(trace.controllers(), sims.length));
+        }
+        this.trace = trace;
+        this.sims = sims.clone();
+        for (var sim : this.sims) {
+            sim.setAxisCount(InputTrace.AXES);
+            sim.setButtonCount(InputTrace.BUTTONS);
+            sim.setPOVCount(1);
+        }
+    }
+
+    /**
+     * Applies the next frame.
+     *
+     * @return false once every frame has been applied
+     */
+    public boolean step() {
+        if (frame >= trace.frameCount()) {
+            return false;
+        }
+        for (int c = 0; c < sims.length; c++) {
+            var sim = sims[c];
+            for (int axis = 0; axis < InputTrace.AXES; axis++) {
+                sim.setRawAxis(axis, trace.axis(frame, c, axis));
+            }
+            var buttons = trace.buttons(frame, c);
+            for (int button = 1; button <= InputTrace.BUTTONS; button++) {
+                sim.setRawButton(button, (buttons & (1 << (button - 1))) != 0);
+            }
+            sim.setPOV(trace.pov(frame, c));
+            sim.notifyNewData();
+        }
+        frame++;
+        return true;
+    }
+
+    public int position() {
+        return frame;
+    }
+
+    public void rewind() {
+        frame = 0;
+    }
+}
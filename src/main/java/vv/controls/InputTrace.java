@@ -0,0 +1,122 @@
+package vv.controls;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A recording of controller inputs, one frame per robot loop, in a compact binary form.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int   magic 'VVIN'
+ * int   version
+ * int   controller count
+ * int   frame count
+ * frames, each one block per controller:
+ *   short[6] axes, scaled from [-1, 1] to [-32767, 32767]
+ *   short    buttons, bit n - 1 set when button n is pressed
+ *   short    POV angle in degrees, or -1 when released
+ * </pre>
+ * That is 16 bytes per controller per loop, about 1.6 KB/s for both controllers at 50 Hz.
+ */
+public final class InputTrace {
+    static final int MAGIC = 0x5656494E; // "VVIN"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    public static final int AXES = 6;
+    public static final int BUTTONS = 10;
+    public static final int CONTROLLER_BYTES = AXES * Short.BYTES + 2 * Short.BYTES;
+    public static final String EXTENSION = ".inputs";
+
+    private final int controllers;
+    private final int frameCount;
+    // Frames only, positioned at 0
+    private final ByteBuffer frames;
+
+    InputTrace(int controllers, int frameCount, ByteBuffer frames) {
+        if (frames.remaining() != frameCount * controllers * CONTROLLER_BYTES) {
+            throw new IllegalArgumentException("Expected %d frames of %d controllers, got %d bytes".formatted(
+                frameCount, controllers, frames.remaining()));
+        }
+        this.controllers = controllers;
+        this.frameCount = frameCount;
+        this.frames = frames.slice();
+    }
+
+    public int controllers() {
+        return controllers;
+    }
+
+    public int frameCount() {
+        return frameCount;
+    }
+
+    public double axis(int frame, int controller, int axis) {
+        return decodeAxis(frames.getShort(offset(frame, controller) + axis * Short.BYTES));
+    }
+
+    /**
+     * @param button 1-based, as in {@link edu.wpi.first.wpilibj.XboxController.Button}
+     */
+    public boolean button(int frame, int controller, int button) {
+        return (buttons(frame, controller) & (1 << (button - 1))) != 0;
+    }
+
+    public int buttons(int frame, int controller) {
+        return frames.getShort(offset(frame, controller) + AXES * Short.BYTES) & 0xFFFF;
+    }
+
+    public int pov(int frame, int controller) {
+        return frames.getShort(offset(frame, controller) + (AXES + 1) * Short.BYTES);
+    }
+
+    private int offset(int frame, int controller) {
+        return (frame * controllers + controller) * CONTROLLER_BYTES;
+    }
+
+    static short encodeAxis(double value) {
+        return (short) Math.round(Math.max(-1.0, Math.min(1.0, value)) * Short.MAX_VALUE);
+    }
+
+    static double decodeAxis(short value) {
+        return value / (double) Short.MAX_VALUE;
+    }
+
+    /**
+     * Writes the trace, via a temporary file so a reader never sees a partial one.
+     */
+    public void write(Path path) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(controllers)
+            .putInt(frameCount)
+            .flip();
+        var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        var temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.write(new ByteBuffer[] { header, frames.duplicate() });
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static InputTrace read(Path path) throws IOException {
+        var bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (bytes.remaining() < HEADER_BYTES || bytes.getInt() != MAGIC) {
+            throw new IOException("Not an input trace: " + path);
+        }
+        var version = bytes.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input trace version %d in %s".formatted(version, path));
+        }
+        var controllers = bytes.getInt();
+        var frameCount = bytes.getInt();
+        return new InputTrace(controllers, frameCount, bytes.slice());
+    }
+}
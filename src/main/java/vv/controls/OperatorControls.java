@@ -30,6 +30,10 @@ public class OperatorControls {
         return controller;
     }
 
+    public XboxControllerSim sim() {
+        return sim;
+    }
+
     public void simulate(Consumer<XboxControllerSim> consumer) {
         consumer.accept(sim);
         sim.notifyNewData();
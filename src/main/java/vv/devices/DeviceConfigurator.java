@@ -0,0 +1,332 @@
+package vv.devices;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.CANcoderConfiguration;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.hardware.CANcoder;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+/**
+ * Applies device configurations at boot, skipping devices that already have them. Each apply is a
+ * blocking CAN transaction, so re-applying unchanged configs on every boot costs startup time.
+ *
+ * For each device the intended config is fingerprinted (CRC32 of its serialized form) and
+ * compared, in order, against:
+ * <ol>
+ *   <li>the fingerprint cached on disk after the last successful apply, when the cache is trusted;</li>
+ *   <li>the config the device reports when read back, field by field. Values round-trip through
+ *   the device's own number formats, so numeric fields only need to agree to within
+ *   {@value #RELATIVE_TOLERANCE} of their size.</li>
+ * </ol>
+ * Devices that match neither are re-applied. All devices are checked and applied in parallel
+ * under one overall time budget; devices still in progress when it runs out are reported as
+ * timed out.
+ *
+ * The cache also records how long each apply took, which is what a skipped device is counted as
+ * saving in the {@link Report}.
+ */
+public final class DeviceConfigurator {
+
+    public enum Outcome {
+        /** The fingerprint matched the one cached on disk */
+        CACHED,
+        /** The device reported the intended config */
+        MATCHED,
+        APPLIED,
+        FAILED,
+        TIMED_OUT
+    }
+
+    /**
+     * @param device Cache key for the device
+     * @param outcome What happened
+     * @param nanos How long checking (and applying, if needed) took
+     * @param savedNanos Estimated apply time that was skipped
+     */
+    public record Result(String device, Outcome outcome, long nanos, long savedNanos) {}
+
+    public record Report(List<Result> results, long wallNanos) {
+        public long savedNanos() {
+            return results.stream().mapToLong(Result::savedNanos).sum();
+        }
+
+        public long count(Outcome outcome) {
+            return results.stream().filter(r -> r.outcome() == outcome).count();
+        }
+
+        public String summary() {
+            var summary = new StringBuilder("Device configs: %d cached, %d matched, %d applied, %d failed, %d timed out in %.1fms, saved ~%.1fms".formatted(
+                count(Outcome.CACHED), count(Outcome.MATCHED), count(Outcome.APPLIED),
+                count(Outcome.FAILED), count(Outcome.TIMED_OUT), wallNanos / 1E6, savedNanos() / 1E6));
+            for (var result : results) {
+                if (result.outcome() == Outcome.FAILED || result.outcome() == Outcome.TIMED_OUT) {
+                    summary.append("%n  %s: %s".formatted(result.device(), result.outcome()));
+                }
+            }
+            return summary.toString();
+        }
+    }
+
+    /**
+     * One device's config, decoupled from the Phoenix device type.
+     *
+     * @param key Stable name for the device, e.g. "rio/TalonFX/41"
+     * @param intended Serialized intended config, for the fingerprint
+     * @param readBackMatches Reads the config back from the device and compares it with the intended
+     *                        one; false if it differs or couldn't be read
+     * @param apply Applies the intended config
+     */
+    record Entry(String key, String intended, BooleanSupplier readBackMatches, Supplier<StatusCode> apply) {}
+
+    // Assumed cost of an apply that has never been timed, for the savings estimate
+    private static final long DEFAULT_APPLY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final double READ_TIMEOUT_SECONDS = 0.1;
+    static final double RELATIVE_TOLERANCE = 1E-4;
+
+    private final Path cacheFile;
+    private final boolean trustCache;
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * @param cacheFile Where fingerprints are kept between boots
+     * @param trustCache Whether a cached fingerprint alone is enough to skip a device. A replaced
+     *                   device won't match its cache entry until the file is deleted, so only
+     *                   trust it where devices don't change between boots.
+     */
+    public DeviceConfigurator(Path cacheFile, boolean trustCache) {
+        this.cacheFile = cacheFile;
+        this.trustCache = trustCache;
+    }
+
+    public void add(TalonFX device, TalonFXConfiguration config) {
+        add(new Entry(
+            key(device.getNetwork(), "TalonFX", device.getDeviceID()),
+            config.serialize(),
+            () -> {
+                var current = new TalonFXConfiguration();
+                return device.getConfigurator().refresh(current, READ_TIMEOUT_SECONDS).isOK() && sameConfig(config, current);
+            },
+            () -> device.getConfigurator().apply(config)
+        ));
+    }
+
+    public void add(CANcoder device, CANcoderConfiguration config) {
+        add(new Entry(
+            key(device.getNetwork(), "CANcoder", device.getDeviceID()),
+            config.serialize(),
+            () -> {
+                var current = new CANcoderConfiguration();
+                return device.getConfigurator().refresh(current, READ_TIMEOUT_SECONDS).isOK() && sameConfig(config, current);
+            },
+            () -> device.getConfigurator().apply(config)
+        ));
+    }
+
+    synchronized void add(Entry entry) {
+        entries.add(entry);
+    }
+
+    /**
+     * Checks and, where needed, applies every added config in parallel, then updates the cache.
+     *
+     * @param budget Time to wait for all devices before reporting the rest as timed out
+     */
+    public Report applyAll(Duration budget) {
+        // The checks block on CAN round trips, so give each device its own thread rather than
+        // tying up the common pool
+        var executor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "DeviceConfigurator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return applyAll(budget, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public synchronized Report applyAll(Duration budget, Executor executor) {
+        var start = System.nanoTime();
+        var cache = readCache();
+        var futures = new ArrayList<CompletableFuture<Result>>();
+        for (var entry : entries) {
+            futures.add(CompletableFuture.supplyAsync(() -> configure(entry, cache), executor));
+        }
+
+        var deadline = start + budget.toNanos();
+        var results = new ArrayList<Result>();
+        for (int i = 0; i < futures.size(); i++) {
+            var key = entries.get(i).key();
+            try {
+                results.add(futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                results.add(new Result(key, Outcome.TIMED_OUT, System.nanoTime() - start, 0));
+            } catch (ExecutionException e) {
+                results.add(new Result(key, Outcome.FAILED, System.nanoTime() - start, 0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new Result(key, Outcome.TIMED_OUT, System.nanoTime() - start, 0));
+            }
+        }
+
+        writeCache(cache);
+        return new Report(results, System.nanoTime() - start);
+    }
+
+    private Result configure(Entry entry, Properties cache) {
+        var start = System.nanoTime();
+        var fingerprint = fingerprint(entry.intended());
+        var cachedApplyNanos = cachedApplyNanos(cache, entry.key());
+
+        if (trustCache && fingerprint.equals(cachedFingerprint(cache, entry.key()))) {
+            return new Result(entry.key(), Outcome.CACHED, System.nanoTime() - start, cachedApplyNanos);
+        }
+
+        if (entry.readBackMatches().getAsBoolean()) {
+            cache(cache, entry.key(), fingerprint, cachedApplyNanos);
+            var elapsed = System.nanoTime() - start;
+            return new Result(entry.key(), Outcome.MATCHED, elapsed, Math.max(0, cachedApplyNanos - elapsed));
+        }
+
+        var applyStart = System.nanoTime();
+        var status = entry.apply().get();
+        var applyNanos = System.nanoTime() - applyStart;
+        if (!status.isOK()) {
+            synchronized (cache) {
+                cache.remove(entry.key());
+            }
+            return new Result(entry.key(), Outcome.FAILED, System.nanoTime() - start, 0);
+        }
+        cache(cache, entry.key(), fingerprint, applyNanos);
+        return new Result(entry.key(), Outcome.APPLIED, System.nanoTime() - start, 0);
+    }
+
+    /**
+     * Compares two Phoenix configs by their public fields, recursing into the nested config groups.
+     * Numbers match if they're within {@value #RELATIVE_TOLERANCE} of each other (relative to the
+     * larger, or absolute below 1); everything else must be equal.
+     */
+    static boolean sameConfig(Object intended, Object current) {
+        if (intended == null || current == null) {
+            return intended == current;
+        }
+        if (intended instanceof Number a && current instanceof Number b) {
+            var x = a.doubleValue();
+            var y = b.doubleValue();
+            return Math.abs(x - y) <= RELATIVE_TOLERANCE * Math.max(1.0, Math.max(Math.abs(x), Math.abs(y)));
+        }
+        if (intended instanceof Boolean || intended instanceof String || intended instanceof Enum<?>
+                || intended.getClass() != current.getClass()) {
+            return intended.equals(current);
+        }
+        for (var field : intended.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                if (!sameConfig(field.get(intended), field.get(current))) {
+                    return false;
+                }
+            } catch (IllegalAccessException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String fingerprint(String serialized) {
+        var crc = new CRC32();
+        crc.update(serialized.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static String key(String network, String type, int id) {
+        return "%s/%s/%d".formatted(network.isEmpty() ? "rio" : network, type, id);
+    }
+
+    // Cache entries are "<fingerprint>,<apply nanos>", keyed by device
+
+    private static String cachedFingerprint(Properties cache, String key) {
+        String value;
+        synchronized (cache) {
+            value = cache.getProperty(key);
+        }
+        return value == null ? null : value.split(",")[0];
+    }
+
+    private static long cachedApplyNanos(Properties cache, String key) {
+        String value;
+        synchronized (cache) {
+            value = cache.getProperty(key);
+        }
+        if (value != null) {
+            var parts = value.split(",");
+            if (parts.length == 2) {
+                try {
+                    return Long.parseLong(parts[1]);
+                } catch (NumberFormatException e) {
+                    // Fall through to the default
+                }
+            }
+        }
+        return DEFAULT_APPLY_NANOS;
+    }
+
+    private static void cache(Properties cache, String key, String fingerprint, long applyNanos) {
+        synchronized (cache) {
+            cache.setProperty(key, fingerprint + "," + applyNanos);
+        }
+    }
+
+    private Properties readCache() {
+        var cache = new Properties();
+        if (Files.exists(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cache.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                // A damaged cache only costs the skipped applies
+                cache.clear();
+            }
+        }
+        return cache;
+    }
+
+    private void writeCache(Properties cache) {
+        try {
+            var parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            var temp = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+            synchronized (cache) {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    cache.store(out, "Device config fingerprints, written at boot; delete to force a re-check");
+                }
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Next boot just checks the devices again
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package vv.devices;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.hardware.ParentDevice;
+
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.units.measure.Frequency;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Central place for the Phoenix status signals the main loop reads. Subsystems register the
+ * signals they need once; {@link #refreshAll()} then refreshes all of them with a single
+ * {@link BaseStatusSignal#refreshAll} per CAN bus at the start of every loop, and getters just
+ * read the cached values.
+ *
+ * Signals that belong to the swerve odometry thread must not be registered for refreshing (that
+ * thread refreshes them itself); use {@link #setUpdateFrequency} for those.
+ *
+ * On a real robot {@link #optimizeBusUtilization()} turns off every status frame that nothing
+ * asked for. {@link #publishHealth()} reports per-bus utilization and signal staleness under
+ * {@code /Signals/<bus>} as [utilization %, max staleness ms, signals in error].
+ */
+public final class SignalRegistry {
+    private static final int PUBLISH_PERIOD_LOOPS = 50;
+
+    private static final class BusSignals {
+        private final String name;
+        private final CANBus bus;
+        private BaseStatusSignal[] signals = new BaseStatusSignal[0];
+        private DoubleArrayPublisher publisher;
+        private DoubleArrayLogEntry logEntry;
+        private final double[] health = new double[3];
+
+        private BusSignals(String name) {
+            this.name = name;
+            this.bus = new CANBus(name);
+        }
+    }
+
+    private static final Map<String, BusSignals> busesByName = new LinkedHashMap<>();
+    private static final Set<ParentDevice> devices = new LinkedHashSet<>();
+    // Rebuilt on registration so refreshAll() can iterate without allocating
+    private static volatile BusSignals[] buses = new BusSignals[0];
+    private static int loopsSincePublish = 0;
+
+    private SignalRegistry() {}
+
+    /**
+     * Registers signals to be refreshed every loop and sets their update frequency as one group.
+     *
+     * @param device Device the signals belong to (they must all be on its CAN bus)
+     * @param frequency Rate the device should send the signals at
+     */
+    public static synchronized void register(ParentDevice device, Frequency frequency, BaseStatusSignal... signals) {
+        setUpdateFrequency(frequency, signals);
+        devices.add(device);
+
+        var busSignals = busesByName.get(device.getNetwork());
+        if (busSignals == null) {
+            busSignals = new BusSignals(device.getNetwork());
+            busesByName.put(device.getNetwork(), busSignals);
+            buses = busesByName.values().toArray(BusSignals[]::new);
+        }
+        var updated = Arrays.copyOf(busSignals.signals, busSignals.signals.length + signals.length);
+        System.arraycopy(signals, 0, updated, busSignals.signals.length, signals.length);
+        busSignals.signals = updated;
+    }
+
+    /**
+     * Sets the update frequency of a group of signals in one call, without refreshing them from
+     * the main loop.
+     */
+    public static void setUpdateFrequency(Frequency frequency, BaseStatusSignal... signals) {
+        var status = BaseStatusSignal.setUpdateFrequencyForAll(frequency, signals);
+        if (!status.isOK()) {
+            DriverStation.reportWarning("Failed to set signal update frequency: " + status.getDescription(), false);
+        }
+    }
+
+    /**
+     * Includes devices whose signals are managed elsewhere (e.g. swerve modules) in
+     * {@link #optimizeBusUtilization()}.
+     */
+    public static synchronized void registerDevices(ParentDevice... newDevices) {
+        devices.addAll(Arrays.asList(newDevices));
+    }
+
+    /**
+     * Disables all status frames on registered devices that haven't been given an explicit
+     * update frequency. Call once, after every subsystem is constructed. Does nothing in simulation.
+     */
+    public static synchronized void optimizeBusUtilization() {
+        if (Utils.isSimulation() || devices.isEmpty()) {
+            return;
+        }
+        var status = ParentDevice.optimizeBusUtilizationForAll(devices.toArray(ParentDevice[]::new));
+        if (!status.isOK()) {
+            DriverStation.reportWarning("Failed to optimize bus utilization: " + status.getDescription(), false);
+        }
+    }
+
+    /**
+     * Refreshes every registered signal. Call once at the start of each loop.
+     */
+    public static void refreshAll() {
+        for (var bus : buses) {
+            if (bus.signals.length > 0) {
+                BaseStatusSignal.refreshAll(bus.signals);
+            }
+        }
+    }
+
+    /**
+     * Publishes bus utilization and signal staleness every {@value #PUBLISH_PERIOD_LOOPS} calls.
+     * Call once per loop from the robot (not from tests, which would start the DataLog).
+     */
+    public static void publishHealth() {
+        if (++loopsSincePublish < PUBLISH_PERIOD_LOOPS) {
+            return;
+        }
+        loopsSincePublish = 0;
+
+        for (var bus : buses) {
+            if (bus.publisher == null) {
+                bus.publisher = NetworkTableInstance.getDefault().getDoubleArrayTopic("/Signals/" + busLabel(bus)).publish();
+                bus.logEntry = new DoubleArrayLogEntry(DataLogManager.getLog(), "Signals/" + busLabel(bus));
+            }
+
+            double maxStaleness = 0;
+            var errors = 0;
+            for (var signal : bus.signals) {
+                maxStaleness = Math.max(maxStaleness, signal.getTimestamp().getLatency());
+                if (!signal.getStatus().isOK()) {
+                    errors++;
+                }
+            }
+            bus.health[0] = bus.bus.getStatus().BusUtilization * 100.0;
+            bus.health[1] = maxStaleness * 1000.0;
+            bus.health[2] = errors;
+            bus.publisher.set(bus.health);
+            bus.logEntry.append(bus.health);
+        }
+    }
+
+    /**
+     * Forgets every registered signal and device. For tests, where devices are recreated per test.
+     */
+    public static synchronized void clear() {
+        busesByName.clear();
+        devices.clear();
+        buses = new BusSignals[0];
+    }
+
+    /**
+     * What is registered at one point in time, to be put back with {@link #restore(Snapshot)}.
+     */
+    public static final class Snapshot {
+        private final Map<String, BaseStatusSignal[]> signalsByBus;
+        private final Set<ParentDevice> devices;
+
+        private Snapshot(Map<String, BaseStatusSignal[]> signalsByBus, Set<ParentDevice> devices) {
+            this.signalsByBus = signalsByBus;
+            this.devices = devices;
+        }
+    }
+
+    /**
+     * @return the signals and devices registered now. For tests that keep devices across cases.
+     */
+    public static synchronized Snapshot snapshot() {
+        var signalsByBus = new LinkedHashMap<String, BaseStatusSignal[]>();
+        for (var entry : busesByName.entrySet()) {
+            signalsByBus.put(entry.getKey(), entry.getValue().signals.clone());
+        }
+        return new Snapshot(signalsByBus, new LinkedHashSet<>(devices));
+    }
+
+    /**
+     * Replaces everything registered with a snapshot, forgetting anything registered since.
+     */
+    public static synchronized void restore(Snapshot snapshot) {
+        busesByName.clear();
+        for (var entry : snapshot.signalsByBus.entrySet()) {
+            var busSignals = new BusSignals(entry.getKey());
+            busSignals.signals = entry.getValue().clone();
+            busesByName.put(entry.getKey(), busSignals);
+        }
+        devices.clear();
+        devices.addAll(snapshot.devices);
+        buses = busesByName.values().toArray(BusSignals[]::new);
+    }
+
+    private static String busLabel(BusSignals bus) {
+        return bus.name.isEmpty() ? "rio" : bus.name;
+    }
+}
@@ -0,0 +1,62 @@
+package vv.diagnostics;
+
+import java.util.Optional;
+
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+/**
+ * Drives a short simulated run for the {@code cdsTraining} Gradle task, which records every class
+ * the robot program loads so a class-data-sharing archive can be built from the list.
+ *
+ * Enabled by setting {@value #LOOPS_PROPERTY} to the number of loops to spend in each mode. The
+ * run goes through disabled, autonomous and teleop so the classes each mode needs are loaded,
+ * then exits.
+ */
+public final class CdsTraining {
+    public static final String LOOPS_PROPERTY = "vv.cds.training.loops";
+
+    private final int loopsPerMode;
+    private int loops = 0;
+
+    private CdsTraining(int loopsPerMode) {
+        this.loopsPerMode = loopsPerMode;
+    }
+
+    /**
+     * @return the training driver if this is a simulated run with {@value #LOOPS_PROPERTY} set
+     */
+    public static Optional<CdsTraining> fromSystemProperties() {
+        var loopsPerMode = Integer.getInteger(LOOPS_PROPERTY, 0);
+        if (loopsPerMode <= 0 || !RobotBase.isSimulation()) {
+            return Optional.empty();
+        }
+        return Optional.of(new CdsTraining(loopsPerMode));
+    }
+
+    /**
+     * Call once per robot loop.
+     */
+    public void step() {
+        loops++;
+        if (loops % loopsPerMode != 0) {
+            return;
+        }
+        switch (loops / loopsPerMode) {
+            case 1 -> setMode(true, true);
+            case 2 -> setMode(true, false);
+            default -> {
+                DataLogManager.log("CDS training finished after %d loops".formatted(loops));
+                // Exiting is what makes the JVM write an -XX:ArchiveClassesAtExit archive
+                System.exit(0);
+            }
+        }
+    }
+
+    private static void setMode(boolean enabled, boolean autonomous) {
+        DriverStationSim.setAutonomous(autonomous);
+        DriverStationSim.setEnabled(enabled);
+        DriverStationSim.notifyNewData();
+    }
+}
@@ -0,0 +1,33 @@
+package vv.diagnostics;
+
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+/**
+ * Logs every command start ("+Name") and end ("-Name") to the DataLog, so a recorded match can be
+ * compared with a replay of it (see {@link vv.replay.ReplayRunner}).
+ */
+public final class CommandLog {
+    public static final String ENTRY = "Commands/events";
+    public static final char STARTED = '+';
+    public static final char ENDED = '-';
+
+    private static StringLogEntry entry;
+
+    private CommandLog() {}
+
+    /**
+     * Registers the scheduler hooks. Call once, after {@link DataLogManager#start()}.
+     */
+    public static synchronized void install() {
+        if (entry != null) {
+            return;
+        }
+        entry = new StringLogEntry(DataLogManager.getLog(), ENTRY);
+        var scheduler = CommandScheduler.getInstance();
+        scheduler.onCommandInitialize(command -> entry.append(STARTED + command.getName()));
+        scheduler.onCommandFinish(command -> entry.append(ENDED + command.getName()));
+        scheduler.onCommandInterrupt(command -> entry.append(ENDED + command.getName()));
+    }
+}
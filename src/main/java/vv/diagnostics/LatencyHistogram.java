@@ -0,0 +1,80 @@
+package vv.diagnostics;
+
+/**
+ * Fixed-memory latency histogram with log-linear buckets (8 per power of two), so every
+ * recorded duration from 1 µs to several minutes lands in a bucket within ~6% of its value.
+ * Recording is O(1) and never allocates. Not thread-safe; record and read from the main loop.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this get one bucket per microsecond
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int MAX_MSB = 30;
+    private static final long MAX_MICROS = (1L << (MAX_MSB + 1)) - 1;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_MSB - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long total;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        var micros = Math.min(Math.max(0, nanos / 1000), MAX_MICROS);
+        counts[bucketIndex(micros)]++;
+        total++;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99 for p99
+     * @return the approximate latency at that quantile in milliseconds, or 0 if nothing was recorded
+     */
+    public double quantileMillis(double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketMidpointMicros(i) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    public double maxMillis() {
+        return maxNanos / 1E6;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        maxNanos = 0;
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        var msb = 63 - Long.numberOfLeadingZeros(micros);
+        var exponent = msb - SUB_BUCKET_BITS;
+        var mantissa = (int) (micros >> exponent) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static double bucketMidpointMicros(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        var exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        var mantissa = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        var lower = (long) mantissa << exponent;
+        return lower + (1L << exponent) / 2.0;
+    }
+}
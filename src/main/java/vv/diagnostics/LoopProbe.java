@@ -0,0 +1,77 @@
+package vv.diagnostics;
+
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+
+/**
+ * Times one named section of the robot loop (e.g. a subsystem's periodic). Get one from
+ * {@link LoopProfiler#probe(String)} once, then bracket the section with {@link #start()} and
+ * {@link #stop()}; neither allocates. {@link LoopProfiler#untimed(String)} probes do nothing, for
+ * code that runs off the main robot thread.
+ */
+public final class LoopProbe {
+    private final String name;
+    private final boolean timed;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long startNanos;
+
+    // Created on first publish so probes can be registered before NetworkTables/DataLog start
+    private DoubleArrayPublisher publisher;
+    private DoubleArrayLogEntry logEntry;
+    private final double[] summary = new double[4];
+
+    LoopProbe(String name, boolean timed) {
+        this.name = name;
+        this.timed = timed;
+    }
+
+    public void start() {
+        if (timed) {
+            startNanos = System.nanoTime();
+        }
+    }
+
+    public void stop() {
+        if (!timed) {
+            return;
+        }
+        var now = System.nanoTime();
+        histogram.record(now - startNanos);
+        LoopProfiler.mark(now);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    /**
+     * Publishes [p50, p99, max, count] (milliseconds) for the window since the last publish,
+     * then starts a new window.
+     */
+    void publish() {
+        if (histogram.count() == 0) {
+            return;
+        }
+        if (publisher == null) {
+            publisher = NetworkTableInstance.getDefault().getDoubleArrayTopic("/LoopProfiler/" + name).publish();
+            logEntry = new DoubleArrayLogEntry(DataLogManager.getLog(), "LoopProfiler/" + name);
+        }
+        summary[0] = histogram.quantileMillis(0.50);
+        summary[1] = histogram.quantileMillis(0.99);
+        summary[2] = histogram.maxMillis();
+        summary[3] = histogram.count();
+        publisher.set(summary);
+        logEntry.append(summary);
+        histogram.reset();
+    }
+}
@@ -0,0 +1,119 @@
+package vv.diagnostics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+/**
+ * Per-section timing for the robot loop, so a loop overrun can be traced back to the subsystem
+ * or command that caused it. Results are published once a second as [p50, p99, max, count]
+ * (milliseconds) under {@code /LoopProfiler/<section>} in NetworkTables and the DataLog.
+ *
+ * Subsystems time their own {@code periodic()}/{@code simulationPeriodic()} with a
+ * {@link LoopProbe}. Commands are timed generically from the scheduler's hooks, which fire right
+ * after {@code initialize()}, {@code execute()} and {@code end()}: each call is charged with the
+ * time since the previous mark, so it includes a little scheduler bookkeeping (and, for the first
+ * command each loop, nothing but the trigger polling that precedes it).
+ *
+ * Everything except {@link #probe(String)} must be called from the main robot thread.
+ */
+public final class LoopProfiler {
+    private static final int PUBLISH_PERIOD_LOOPS = 50;
+    private static final int INITIALIZE = 0;
+    private static final int EXECUTE = 1;
+    private static final int END = 2;
+
+    private static final List<LoopProbe> probes = new ArrayList<>();
+    private static final Map<String, LoopProbe> probesByName = new HashMap<>();
+    private static final Map<String, LoopProbe[]> commandProbes = new HashMap<>();
+    private static final LoopProbe schedulerProbe = probe("CommandScheduler.run");
+    private static long lastMark = System.nanoTime();
+    private static int loopsSincePublish = 0;
+    private static boolean installed = false;
+
+    private LoopProfiler() {}
+
+    /**
+     * @return the probe for a section, created the first time the name is seen
+     */
+    public static synchronized LoopProbe probe(String name) {
+        var probe = probesByName.get(name);
+        if (probe == null) {
+            probe = new LoopProbe(name, true);
+            probesByName.put(name, probe);
+            probes.add(probe);
+        }
+        return probe;
+    }
+
+    /**
+     * @return a probe that records nothing and isn't published, for subsystems driven directly
+     * (e.g. in parallel tests) rather than from the robot loop
+     */
+    public static LoopProbe untimed(String name) {
+        return new LoopProbe(name, false);
+    }
+
+    /**
+     * Hooks command timing into the scheduler. Call once, after the trigger bindings are set up,
+     * so the mark this adds to the button loop runs after all of them.
+     */
+    public static void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        var scheduler = CommandScheduler.getInstance();
+        scheduler.onCommandInitialize(command -> recordCommand(command, INITIALIZE));
+        scheduler.onCommandExecute(command -> recordCommand(command, EXECUTE));
+        scheduler.onCommandFinish(command -> recordCommand(command, END));
+        scheduler.onCommandInterrupt(command -> recordCommand(command, END));
+        scheduler.getDefaultButtonLoop().bind(() -> mark(System.nanoTime()));
+    }
+
+    /**
+     * Runs one scheduler cycle, timing it as a whole, and publishes every
+     * {@value #PUBLISH_PERIOD_LOOPS} loops. Use in place of {@code CommandScheduler.getInstance().run()}.
+     */
+    public static void runScheduler() {
+        var start = System.nanoTime();
+        lastMark = start;
+        CommandScheduler.getInstance().run();
+        schedulerProbe.record(System.nanoTime() - start);
+
+        if (++loopsSincePublish >= PUBLISH_PERIOD_LOOPS) {
+            loopsSincePublish = 0;
+            publish();
+        }
+    }
+
+    static void mark(long nanos) {
+        lastMark = nanos;
+    }
+
+    private static synchronized void publish() {
+        for (var probe : probes) {
+            probe.publish();
+        }
+    }
+
+    private static void recordCommand(Command command, int phase) {
+        var now = System.nanoTime();
+        var phases = commandProbes.get(command.getName());
+        if (phases == null) {
+            var name = command.getName();
+            phases = new LoopProbe[] {
+                probe(name + ".initialize"),
+                probe(name + ".execute"),
+                probe(name + ".end")
+            };
+            commandProbes.put(name, phases);
+        }
+        phases[phase].record(now - lastMark);
+        lastMark = now;
+    }
+}
@@ -0,0 +1,92 @@
+package vv.diagnostics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Measures robot program startup (JVM launch to {@code robotInit}) with and without a CDS archive,
+ * by launching the simulated robot repeatedly and reading the startup line {@code Robot} logs.
+ *
+ * Usage: {@code StartupBenchmark <robot jar> <archive> [runs]}. Run through
+ * {@code ./gradlew startupBenchmark}, which builds the jar and a desktop archive first. The desktop
+ * numbers only show the relative gain; the roboRIO's own archive is built on deploy.
+ */
+public final class StartupBenchmark {
+    /** Printed by Robot.robotInit, followed by the JVM uptime in milliseconds */
+    public static final String MARKER = "Startup: robotInit after ";
+    private static final Pattern UPTIME = Pattern.compile(Pattern.quote(MARKER) + "(\\d+)ms");
+
+    private StartupBenchmark() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <robot jar> <archive> [runs]");
+            System.exit(1);
+        }
+        var jar = Path.of(args[0]);
+        var archive = Path.of(args[1]);
+        var runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        if (!Files.exists(archive)) {
+            System.err.println("No archive at " + archive + "; run ./gradlew cdsTraining first");
+            System.exit(1);
+        }
+
+        var without = measure(jar, runs, List.of("-Xshare:auto"));
+        var with = measure(jar, runs, List.of("-Xshare:auto", "-XX:SharedArchiveFile=" + archive));
+        System.out.println("JVM start to robotInit, median of %d runs:".formatted(runs));
+        System.out.println("  without archive: %dms %s".formatted(median(without), without));
+        System.out.println("  with archive:    %dms %s".formatted(median(with), with));
+    }
+
+    private static List<Long> measure(Path jar, int runs, List<String> jvmArgs) throws IOException, InterruptedException {
+        var results = new ArrayList<Long>();
+        for (int i = 0; i < runs; i++) {
+            launch(jar, jvmArgs).ifPresentOrElse(
+                results::add,
+                () -> System.err.println("A run exited without reaching robotInit")
+            );
+        }
+        return results;
+    }
+
+    private static Optional<Long> launch(Path jar, List<String> jvmArgs) throws IOException, InterruptedException {
+        var java = ProcessHandle.current().info().command().orElse("java");
+        var command = new ArrayList<String>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+        // Exit straight after the first few loops
+        command.add("-D" + CdsTraining.LOOPS_PROPERTY + "=1");
+        command.addAll(Arrays.asList("-jar", jar.toString()));
+
+        var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Optional<Long> uptime = Optional.empty();
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                var matcher = UPTIME.matcher(line);
+                if (matcher.find()) {
+                    uptime = Optional.of(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        process.waitFor();
+        return uptime;
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        var sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+}
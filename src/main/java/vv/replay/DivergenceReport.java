@@ -0,0 +1,95 @@
+package vv.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import vv.replay.RecordedMatch.CommandEvent;
+
+/**
+ * Compares a replayed run with the recorded one: how far the replayed pose drifted from the
+ * recorded pose, and whether the same commands started and ended in the same order at about the
+ * same times.
+ */
+public final class DivergenceReport {
+    private int poseSamples = 0;
+    private double sumSquaredError = 0;
+    private double maxTranslationError = 0;
+    private double maxTranslationErrorTime = 0;
+    private double maxHeadingErrorDeg = 0;
+    private final List<CommandEvent> replayedCommands = new ArrayList<>();
+
+    /**
+     * @param time Replay time (seconds)
+     */
+    public void pose(double time, Pose2d recorded, Pose2d replayed) {
+        var error = recorded.getTranslation().getDistance(replayed.getTranslation());
+        var headingError = Math.abs(Math.toDegrees(MathUtil.angleModulus(
+            recorded.getRotation().getRadians() - replayed.getRotation().getRadians())));
+        poseSamples++;
+        sumSquaredError += error * error;
+        if (error > maxTranslationError) {
+            maxTranslationError = error;
+            maxTranslationErrorTime = time;
+        }
+        maxHeadingErrorDeg = Math.max(maxHeadingErrorDeg, headingError);
+    }
+
+    public void command(double time, String event) {
+        replayedCommands.add(new CommandEvent(time, event));
+    }
+
+    public double rmsTranslationError() {
+        return poseSamples == 0 ? 0 : Math.sqrt(sumSquaredError / poseSamples);
+    }
+
+    public double maxTranslationError() {
+        return maxTranslationError;
+    }
+
+    public double maxHeadingErrorDeg() {
+        return maxHeadingErrorDeg;
+    }
+
+    /**
+     * @param recorded The recorded command events, up to the time replay reached
+     * @return the index of the first event that differs between the runs, or -1 if they match
+     */
+    public int firstCommandMismatch(List<CommandEvent> recorded) {
+        var common = Math.min(recorded.size(), replayedCommands.size());
+        for (int i = 0; i < common; i++) {
+            if (!recorded.get(i).event().equals(replayedCommands.get(i).event())) {
+                return i;
+            }
+        }
+        return recorded.size() == replayedCommands.size() ? -1 : common;
+    }
+
+    public String summary(List<CommandEvent> recorded) {
+        var summary = new StringBuilder();
+        summary.append("Pose: %d samples, RMS error %.3fm, max %.3fm at %.2fs, max heading error %.1f deg%n".formatted(
+            poseSamples, rmsTranslationError(), maxTranslationError, maxTranslationErrorTime, maxHeadingErrorDeg));
+
+        var mismatch = firstCommandMismatch(recorded);
+        if (mismatch < 0) {
+            var maxSkew = 0.0;
+            for (int i = 0; i < recorded.size(); i++) {
+                maxSkew = Math.max(maxSkew, Math.abs(recorded.get(i).time() - replayedCommands.get(i).time()));
+            }
+            summary.append("Commands: %d events match, max timing difference %.3fs".formatted(recorded.size(), maxSkew));
+        } else {
+            summary.append("Commands: diverged at event %d: recorded %s, replayed %s".formatted(
+                mismatch, describe(recorded, mismatch), describe(replayedCommands, mismatch)));
+        }
+        return summary.toString();
+    }
+
+    private static String describe(List<CommandEvent> events, int index) {
+        if (index >= events.size()) {
+            return "nothing";
+        }
+        var event = events.get(index);
+        return "'%s' at %.2fs".formatted(event.event(), event.time());
+    }
+}
@@ -0,0 +1,150 @@
+package vv.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import vv.diagnostics.CommandLog;
+
+/**
+ * The parts of a recorded DataLog that replay needs: driver station state and joystick inputs
+ * (logged by {@code DriverStation.startDataLog}), the published robot pose and command events
+ * (see {@link CommandLog}). Every value is kept as a time series so it can be looked up at any
+ * replay time.
+ *
+ * Timestamps are seconds since the first record in the log.
+ */
+public final class RecordedMatch {
+    public static final int JOYSTICKS = 2;
+    public static final String POSE_ENTRY = "NT:/Robot/Pose";
+
+    /**
+     * Values sorted by time; {@link #at(double)} returns the latest one at or before a time.
+     */
+    public static final class Series<T> {
+        private double[] times = new double[16];
+        private final List<T> values = new ArrayList<>();
+
+        void add(double time, T value) {
+            if (values.size() == times.length) {
+                times = Arrays.copyOf(times, times.length * 2);
+            }
+            times[values.size()] = time;
+            values.add(value);
+        }
+
+        public Optional<T> at(double time) {
+            var index = Arrays.binarySearch(times, 0, values.size(), time);
+            if (index < 0) {
+                // Insertion point minus one is the last sample before the time
+                index = -index - 2;
+            }
+            return index < 0 ? Optional.empty() : Optional.of(values.get(index));
+        }
+
+        public int size() {
+            return values.size();
+        }
+
+        public double timeAt(int index) {
+            return times[index];
+        }
+
+        public T valueAt(int index) {
+            return values.get(index);
+        }
+    }
+
+    public record CommandEvent(double time, String event) {}
+
+    public final Series<Boolean> enabled = new Series<>();
+    public final Series<Boolean> autonomous = new Series<>();
+    public final Series<Boolean> test = new Series<>();
+    public final List<Series<float[]>> axes = new ArrayList<>();
+    public final List<Series<boolean[]>> buttons = new ArrayList<>();
+    public final List<Series<long[]>> povs = new ArrayList<>();
+    public final Series<Pose2d> poses = new Series<>();
+    public final List<CommandEvent> commands = new ArrayList<>();
+    private double duration = 0;
+
+    private RecordedMatch() {
+        for (int i = 0; i < JOYSTICKS; i++) {
+            axes.add(new Series<>());
+            buttons.add(new Series<>());
+            povs.add(new Series<>());
+        }
+    }
+
+    public static RecordedMatch read(String path) throws IOException {
+        var reader = new DataLogReader(path);
+        if (!reader.isValid()) {
+            throw new IOException("Not a WPILib data log: " + path);
+        }
+
+        var match = new RecordedMatch();
+        var names = new HashMap<Integer, String>();
+        var first = -1L;
+        for (DataLogRecord record : reader) {
+            if (first < 0) {
+                first = record.getTimestamp();
+            }
+            if (record.isStart()) {
+                var start = record.getStartData();
+                names.put(start.entry, start.name);
+                continue;
+            }
+            if (record.isControl()) {
+                continue;
+            }
+            var name = names.get(record.getEntry());
+            if (name != null) {
+                var time = (record.getTimestamp() - first) / 1E6;
+                match.add(name, time, record);
+                match.duration = Math.max(match.duration, time);
+            }
+        }
+        return match;
+    }
+
+    private void add(String name, double time, DataLogRecord record) {
+        switch (name) {
+            case "DS:enabled" -> enabled.add(time, record.getBoolean());
+            case "DS:autonomous" -> autonomous.add(time, record.getBoolean());
+            case "DS:test" -> test.add(time, record.getBoolean());
+            case POSE_ENTRY -> poses.add(time, Pose2d.struct.unpack(
+                ByteBuffer.wrap(record.getRaw()).order(ByteOrder.LITTLE_ENDIAN)));
+            case CommandLog.ENTRY -> commands.add(new CommandEvent(time, record.getString()));
+            default -> addJoystick(name, time, record);
+        }
+    }
+
+    private void addJoystick(String name, double time, DataLogRecord record) {
+        for (int i = 0; i < JOYSTICKS; i++) {
+            var prefix = "DS:joystick" + i + "/";
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            switch (name.substring(prefix.length())) {
+                case "axes" -> axes.get(i).add(time, record.getFloatArray());
+                case "buttons" -> buttons.get(i).add(time, record.getBooleanArray());
+                case "povs" -> povs.get(i).add(time, record.getIntegerArray());
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * @return seconds from the first to the last record
+     */
+    public double duration() {
+        return duration;
+    }
+}
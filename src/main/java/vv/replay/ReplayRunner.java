@@ -0,0 +1,146 @@
+package vv.replay;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import com.ctre.phoenix6.HootReplay;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.Robot;
+import vv.config.VVConfig;
+import vv.diagnostics.CommandLog;
+import vv.replay.RecordedMatch.CommandEvent;
+import vv.sims.LockstepSimulation;
+
+/**
+ * Runs {@link Robot} against a recorded match with no hardware, as fast as the CPU allows.
+ *
+ * Phoenix devices replay their signals from the hoot log (so odometry sees what the real modules
+ * reported), and the driver station state and joystick inputs are replayed from the DataLog into
+ * the simulated driver station. Both logs and HAL time are stepped together one robot period at a
+ * time, then one iteration of the robot loop runs. Afterwards a {@link DivergenceReport} shows how
+ * far the replayed pose and command sequence drifted from the recorded ones.
+ *
+ * Usage: {@code ReplayRunner <wpilog> [offset seconds] [hoot file]}. The offset shifts the DataLog
+ * relative to the hoot log if the two recordings didn't start at the same time; the hoot file
+ * defaults to {@code drivetrain.canbus.hoot.filepath}.
+ */
+public final class ReplayRunner {
+    private static final String CONFIG_PATH = "./src/main/deploy/practice-robot.properties";
+
+    private final RecordedMatch match;
+    private final double offset;
+    private final DivergenceReport report = new DivergenceReport();
+    private double time = 0;
+
+    private ReplayRunner(RecordedMatch match, double offset) {
+        this.match = match;
+        this.offset = offset;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <wpilog> [offset seconds] [hoot file]");
+            System.exit(1);
+        }
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("HAL initialization failed");
+        }
+
+        var config = VVConfig.readFromPath(CONFIG_PATH);
+        var offset = args.length > 1 ? Double.parseDouble(args[1]) : 0.0;
+        var hoot = args.length > 2 ? args[2] : config.drivetrain().hootFilepath();
+        var match = RecordedMatch.read(args[0]);
+
+        // Must be loaded before any Phoenix device is constructed
+        var status = HootReplay.loadFile(hoot);
+        if (!status.isOK()) {
+            System.err.println("Could not load hoot log " + hoot + ": " + status);
+            System.exit(1);
+        }
+        HootReplay.pause();
+
+        new ReplayRunner(match, offset).run();
+        HootReplay.closeFile();
+        // Notifiers and Phoenix threads would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    private void run() {
+        LockstepSimulation.enable();
+        var robot = Robot.start();
+        var scheduler = CommandScheduler.getInstance();
+        scheduler.onCommandInitialize(command -> report.command(time + offset, CommandLog.STARTED + command.getName()));
+        scheduler.onCommandFinish(command -> report.command(time + offset, CommandLog.ENDED + command.getName()));
+        scheduler.onCommandInterrupt(command -> report.command(time + offset, CommandLog.ENDED + command.getName()));
+        robot.robotInit();
+
+        var period = robot.getPeriod();
+        var end = match.duration() - offset;
+        var loops = 0L;
+        var loopNanos = 0L;
+        var start = System.nanoTime();
+        while (time <= end && !HootReplay.isFinished()) {
+            applyInputs(time + offset);
+            SimHooks.stepTiming(period);
+            HootReplay.stepTiming(period);
+
+            var loopStart = System.nanoTime();
+            robot.stepLoop();
+            loopNanos += System.nanoTime() - loopStart;
+            loops++;
+
+            var replayed = robot.getDrivetrain().getSnapshot().pose();
+            match.poses.at(time + offset).ifPresent(recorded -> report.pose(time, recorded, replayed));
+            time += period;
+        }
+        var wallSeconds = (System.nanoTime() - start) / 1E9;
+
+        var recordedCommands = new ArrayList<CommandEvent>();
+        for (var event : match.commands) {
+            if (event.time() <= time + offset) {
+                recordedCommands.add(event);
+            }
+        }
+        System.out.println("Replayed %.1fs in %.1fs (%.1fx real time), %d loops averaging %.3fms".formatted(
+            time, wallSeconds, time / wallSeconds, loops, loops == 0 ? 0 : loopNanos / 1E6 / loops));
+        System.out.println(report.summary(recordedCommands));
+    }
+
+    private void applyInputs(double t) {
+        DriverStationSim.setEnabled(match.enabled.at(t).orElse(false));
+        DriverStationSim.setAutonomous(match.autonomous.at(t).orElse(false));
+        DriverStationSim.setTest(match.test.at(t).orElse(false));
+
+        for (int stick = 0; stick < RecordedMatch.JOYSTICKS; stick++) {
+            final var port = stick;
+            match.axes.get(port).at(t).ifPresent(axes -> {
+                DriverStationSim.setJoystickAxisCount(port, axes.length);
+                for (int i = 0; i < axes.length; i++) {
+                    DriverStationSim.setJoystickAxis(port, i, axes[i]);
+                }
+            });
+            match.buttons.get(port).at(t).ifPresent(buttons -> {
+                // Button n is bit n - 1
+                var mask = 0;
+                for (int i = 0; i < buttons.length && i < 32; i++) {
+                    if (buttons[i]) {
+                        mask |= 1 << i;
+                    }
+                }
+                DriverStationSim.setJoystickButtonCount(port, buttons.length);
+                DriverStationSim.setJoystickButtons(port, mask);
+            });
+            match.povs.get(port).at(t).ifPresent(povs -> {
+                DriverStationSim.setJoystickPOVCount(port, povs.length);
+                for (int i = 0; i < povs.length; i++) {
+                    DriverStationSim.setJoystickPOV(port, i, (int) povs[i]);
+                }
+            });
+        }
+        DriverStationSim.notifyNewData();
+    }
+}
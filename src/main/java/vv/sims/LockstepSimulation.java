@@ -0,0 +1,80 @@
+package vv.sims;
+
+import java.util.function.BooleanSupplier;
+
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.devices.SignalRegistry;
+
+/**
+ * Drives the simulation deterministically instead of in real time. When enabled, HAL timing is
+ * paused and only advances when {@link #step(double)} is called, so the FPGA clock (and everything
+ * built on it: {@link edu.wpi.first.wpilibj.Timer}, notifiers, command timeouts) moves in fixed
+ * increments as fast as the CPU allows.
+ *
+ * Each step advances time and then runs one scheduler cycle, which calls every subsystem's
+ * {@code simulationPeriodic()}. Simulated devices ({@link TalonFXSim}s and the swerve drivetrain)
+ * integrate their physics there with the same fixed period, so they stay in lockstep with the
+ * robot code.
+ *
+ * Phoenix's odometry thread runs on its own, so the drivetrain pauses it while it steps its physics
+ * and then waits for it to sample the result (see {@code DrivetrainSubsystem.simulationPeriodic()}).
+ * When a step returns, odometry has consumed exactly that step, whatever the machine's load, so the
+ * same inputs give the same result on every run.
+ *
+ * HAL is process-global, so this is too.
+ */
+public final class LockstepSimulation {
+
+    private static boolean enabled = false;
+
+    private LockstepSimulation() {}
+
+    /**
+     * Pauses HAL timing. Enable this before constructing subsystems so they skip their real-time
+     * simulation threads.
+     */
+    public static void enable() {
+        SimHooks.pauseTiming();
+        enabled = true;
+    }
+
+    public static void disable() {
+        SimHooks.resumeTiming();
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Advances simulated time by one period, refreshes registered status signals and runs one
+     * scheduler cycle, the same order as the robot loop. Returns once odometry has caught up with
+     * the step's physics.
+     */
+    public static void step(double periodSeconds) {
+        SimHooks.stepTiming(periodSeconds);
+        SignalRegistry.refreshAll();
+        CommandScheduler.getInstance().run();
+    }
+
+    /**
+     * Steps the simulation until the condition is met, checking after each step.
+     *
+     * @param condition Checked after every step
+     * @param maxSimTimeSeconds Upper bound on simulated (not wall clock) time
+     * @param periodSeconds Length of each step
+     * @return whether the condition was met before running out of simulated time
+     */
+    public static boolean runUntil(BooleanSupplier condition, double maxSimTimeSeconds, double periodSeconds) {
+        var maxSteps = (long) Math.ceil(maxSimTimeSeconds / periodSeconds);
+        for (long i = 0; i < maxSteps; i++) {
+            step(periodSeconds);
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
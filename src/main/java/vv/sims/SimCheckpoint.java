@@ -0,0 +1,72 @@
+package vv.sims;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.devices.SignalRegistry;
+import vv.subsystems.drivetrain.DrivetrainSubsystem;
+
+/**
+ * Puts a simulated drivetrain back the way it was, so tests can share one drivetrain instead of
+ * building twelve simulated devices (and their threads) per test.
+ *
+ * {@link #capture} records the drivetrain's pose, its default command and the registered status
+ * signals. {@link #restore()} cancels every command, clears trigger bindings and other
+ * subsystems, re-registers only the drivetrain, replaces its module physics with a fresh copy (at
+ * rest and pointing forward, as when it was built) and resets odometry to the captured pose. It
+ * waits on a couple of odometry updates but doesn't advance simulated time.
+ *
+ * The module physics is not captured, so capture a drivetrain that is at rest, e.g. straight after
+ * building it.
+ *
+ * Used by test classes and by {@link vv.tuning.SweepWorker}, which starts every gain set from the
+ * same state. Requires {@link LockstepSimulation} to be enabled.
+ */
+public final class SimCheckpoint {
+    private final DrivetrainSubsystem drivetrain;
+    private final Pose2d pose;
+    private final Command defaultCommand;
+    private final SignalRegistry.Snapshot signals;
+
+    private SimCheckpoint(DrivetrainSubsystem drivetrain) {
+        this.drivetrain = drivetrain;
+        this.pose = drivetrain.getState().Pose;
+        this.defaultCommand = CommandScheduler.getInstance().getDefaultCommand(drivetrain);
+        this.signals = SignalRegistry.snapshot();
+    }
+
+    /**
+     * @param drivetrain A registered drivetrain, built while lockstep simulation was enabled
+     */
+    public static SimCheckpoint capture(DrivetrainSubsystem drivetrain) {
+        if (!LockstepSimulation.isEnabled()) {
+            throw new IllegalStateException("Sim checkpoints need lockstep simulation to be enabled");
+        }
+        return new SimCheckpoint(drivetrain);
+    }
+
+    public DrivetrainSubsystem drivetrain() {
+        return drivetrain;
+    }
+
+    /**
+     * @throws IllegalStateException if odometry doesn't pick up the pose reset, rather than letting
+     * the next user start from the wrong pose
+     */
+    public void restore() {
+        var scheduler = CommandScheduler.getInstance();
+        // Ending the commands also stops any high-rate control they started
+        scheduler.cancelAll();
+        scheduler.clearComposedCommands();
+        scheduler.unregisterAllSubsystems();
+        scheduler.getDefaultButtonLoop().clear();
+        SignalRegistry.restore(signals);
+        drivetrain.register();
+
+        drivetrain.resetSimulation(pose);
+        drivetrain.refreshSnapshot();
+        if (defaultCommand != null) {
+            drivetrain.setDefaultCommand(defaultCommand);
+        }
+    }
+}
@@ -27,7 +27,6 @@ public class TalonFXSim {
             DCMotor.getKrakenX60Foc(1)
         );
         this.loopPeriod = config.simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
-        talon.getDutyCycle().setUpdateFrequency(config.signalUpdateFreq());
     }
 
     public void updateState() {
@@ -0,0 +1,148 @@
+package vv.subsystems.drivetrain;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Notifier;
+
+/**
+ * Runs one {@link HighRateControl} at a fixed rate on a {@link Notifier}, reading the latest
+ * odometry and sending the drive request directly instead of waiting for the next scheduler cycle.
+ *
+ * The notifier only runs while a control is active. {@link Notifier#stop()} only cancels the
+ * next alarm and does not wait for a callback that is already running, so each iteration checks
+ * that its control is still active and sends its request while holding this loop's monitor, which
+ * {@link #start(HighRateControl)} and {@link #stop(HighRateControl)} also take. Once stop returns
+ * the loop will not send another request and the caller can safely take over the drivetrain.
+ * Notifier calls are made outside the monitor so they can never wait on an iteration that is
+ * waiting on them.
+ */
+final class DrivetrainControlLoop implements AutoCloseable {
+    private final Supplier<Pose2d> pose;
+    private final DoubleUnaryOperator clampLinear;
+    private final DoubleUnaryOperator clampAngular;
+    private final Consumer<SwerveRequest> output;
+    private final double periodSeconds;
+    private final Notifier notifier;
+    // Serializes start/stop so their notifier calls stay in the same order as their changes to active
+    private final Object lifecycle = new Object();
+
+    // Only touched on the loop thread, separate from the scheduler's so the two never share a request
+    private final ChassisSpeeds commanded = new ChassisSpeeds();
+    private final ChassisSpeeds discretized = new ChassisSpeeds();
+    private final SwerveRequest.ApplyFieldSpeeds request = new SwerveRequest.ApplyFieldSpeeds()
+        .withSpeeds(discretized)
+        .withDesaturateWheelSpeeds(true);
+
+    // Guarded by this; volatile so isRunning() can read it without locking
+    private volatile HighRateControl active;
+
+    DrivetrainControlLoop(DrivetrainSubsystem drivetrain, double periodSeconds) {
+        this(
+            () -> drivetrain.getState().Pose,
+            drivetrain::clampLinearVelocity,
+            drivetrain::clampAngularVelocity,
+            drivetrain::setControl,
+            periodSeconds
+        );
+    }
+
+    /**
+     * @param pose Latest odometry pose, read at the start of each iteration
+     * @param clampLinear Limits each commanded linear velocity (m/s)
+     * @param clampAngular Limits the commanded angular velocity (rad/s)
+     * @param output Sends the drive request
+     */
+    DrivetrainControlLoop(
+        Supplier<Pose2d> pose,
+        DoubleUnaryOperator clampLinear,
+        DoubleUnaryOperator clampAngular,
+        Consumer<SwerveRequest> output,
+        double periodSeconds
+    ) {
+        this.pose = pose;
+        this.clampLinear = clampLinear;
+        this.clampAngular = clampAngular;
+        this.output = output;
+        this.periodSeconds = periodSeconds;
+        this.notifier = new Notifier(this::run);
+        this.notifier.setName("DrivetrainControlLoop");
+    }
+
+    double periodSeconds() {
+        return periodSeconds;
+    }
+
+    /**
+     * Replaces whatever control was running and starts the loop.
+     */
+    void start(HighRateControl control) {
+        synchronized (lifecycle) {
+            synchronized (this) {
+                active = control;
+            }
+            notifier.startPeriodic(periodSeconds);
+        }
+    }
+
+    /**
+     * Stops the loop if the control is still the active one, so a command ending late can't stop
+     * the command that replaced it. An iteration already in progress may finish its calculation
+     * but will not send its request.
+     */
+    void stop(HighRateControl control) {
+        synchronized (lifecycle) {
+            synchronized (this) {
+                if (active != control) {
+                    return;
+                }
+                active = null;
+            }
+            notifier.stop();
+        }
+    }
+
+    boolean isRunning() {
+        return active != null;
+    }
+
+    /**
+     * One iteration of the loop. Package-private so tests can run it without waiting on the notifier.
+     */
+    void run() {
+        var control = active;
+        if (control == null) {
+            return;
+        }
+        try {
+            control.calculate(pose.get(), commanded);
+            DrivetrainSubsystem.discretize(
+                discretized,
+                clampLinear.applyAsDouble(commanded.vxMetersPerSecond),
+                clampLinear.applyAsDouble(commanded.vyMetersPerSecond),
+                clampAngular.applyAsDouble(commanded.omegaRadiansPerSecond),
+                periodSeconds
+            );
+            synchronized (this) {
+                // The control may have been stopped (and the drivetrain taken over) while it was calculating
+                if (active != control) {
+                    return;
+                }
+                output.accept(request);
+            }
+        } catch (RuntimeException e) {
+            DriverStation.reportError("Drivetrain control loop failed: " + e.getMessage(), e.getStackTrace());
+        }
+    }
+
+    @Override
+    public void close() {
+        notifier.close();
+    }
+}
@@ -0,0 +1,52 @@
+package vv.subsystems.drivetrain;
+
+import edu.wpi.first.wpilibj2.command.Subsystem;
+
+/**
+ * What commands need from the drivetrain: the loop snapshot and velocity control.
+ * {@link DrivetrainSubsystem} is the swerve drivetrain (real, simulated or replayed);
+ * {@link InMemoryDrivetrainIO} drives an ideal robot with no HAL or Phoenix, so commands can be
+ * tested on a plain JVM.
+ */
+public interface DrivetrainIO extends Subsystem {
+
+    /**
+     * @return the state captured at the start of the current scheduler cycle
+     */
+    DrivetrainSnapshot getSnapshot();
+
+    /**
+     * @param vx Linear velocity in the X direction (m/s)
+     * @param vy Linear velocity in the Y direction (m/s)
+     * @param omega Angular velocity (rad/s)
+     */
+    void driveRobotRelative(double vx, double vy, double omega);
+
+    /**
+     * @param vx Linear velocity in the X direction (m/s)
+     * @param vy Linear velocity in the Y direction (m/s)
+     * @param omega Angular velocity (rad/s)
+     */
+    void driveFieldRelative(double vx, double vy, double omega);
+
+    void stop();
+
+    /**
+     * Runs the control on the high-rate control loop until
+     * {@link #stopHighRateControl(HighRateControl)} is called, replacing any control already running.
+     */
+    void startHighRateControl(HighRateControl control);
+
+    /**
+     * Stops the control if it is still running. Once this returns it will not send another
+     * request, so the caller can drive without being overwritten.
+     */
+    void stopHighRateControl(HighRateControl control);
+
+    boolean isHighRateControlRunning();
+
+    /**
+     * @return the period the high-rate control loop runs at (seconds), for building controllers
+     */
+    double getControlLoopPeriod();
+}
@@ -0,0 +1,69 @@
+package vv.subsystems.drivetrain;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/**
+ * A copy of the drivetrain state taken once per scheduler cycle (see
+ * {@link DrivetrainSubsystem#periodic()}). Everything that runs in the main loop reads from
+ * this instead of {@link DrivetrainSubsystem#getState()}, which locks against the odometry
+ * thread on every call and can return a different pose each time it is called.
+ *
+ * The holder is reused between cycles, so don't keep a reference to {@link #speeds()} across loops.
+ */
+public final class DrivetrainSnapshot {
+    private Pose2d pose = Pose2d.kZero;
+    private Rotation2d rawHeading = Rotation2d.kZero;
+    private final ChassisSpeeds speeds = new ChassisSpeeds();
+    private double timestamp;
+
+    void capture(SwerveDriveState state) {
+        // Pose2d and Rotation2d are immutable, so sharing the references is safe
+        if (state.Pose != null) {
+            pose = state.Pose;
+        }
+        if (state.RawHeading != null) {
+            rawHeading = state.RawHeading;
+        }
+        if (state.Speeds != null) {
+            speeds.vxMetersPerSecond = state.Speeds.vxMetersPerSecond;
+            speeds.vyMetersPerSecond = state.Speeds.vyMetersPerSecond;
+            speeds.omegaRadiansPerSecond = state.Speeds.omegaRadiansPerSecond;
+        }
+        timestamp = state.Timestamp;
+    }
+
+    void update(Pose2d pose, double vx, double vy, double omega, double timestamp) {
+        this.pose = pose;
+        this.rawHeading = pose.getRotation();
+        speeds.vxMetersPerSecond = vx;
+        speeds.vyMetersPerSecond = vy;
+        speeds.omegaRadiansPerSecond = omega;
+        this.timestamp = timestamp;
+    }
+
+    public Pose2d pose() {
+        return pose;
+    }
+
+    public Rotation2d rawHeading() {
+        return rawHeading;
+    }
+
+    /**
+     * Robot-relative chassis speeds.
+     */
+    public ChassisSpeeds speeds() {
+        return speeds;
+    }
+
+    /**
+     * Odometry timestamp in the Phoenix time base ({@link com.ctre.phoenix6.Utils#getCurrentTimeSeconds()}).
+     */
+    public double timestamp() {
+        return timestamp;
+    }
+}
@@ -1,33 +1,74 @@
 package vv.subsystems.drivetrain;
 
+import java.util.Optional;
 import java.util.function.Supplier;
 
+import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.hardware.CANcoder;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.swerve.SimSwerveDrivetrain;
 import com.ctre.phoenix6.swerve.SwerveDrivetrain;
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 import com.ctre.phoenix6.swerve.SwerveDrivetrainConstants;
 import com.ctre.phoenix6.swerve.SwerveModuleConstants;
 import com.ctre.phoenix6.swerve.SwerveRequest;
 
 import edu.wpi.first.epilogue.Logged;
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import static edu.wpi.first.units.Units.Hertz;
 import static edu.wpi.first.units.Units.MetersPerSecond;
 import static edu.wpi.first.units.Units.RadiansPerSecond;
 import static edu.wpi.first.units.Units.Seconds;
 import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj2.command.Command;
-import edu.wpi.first.wpilibj2.command.Subsystem;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import vv.config.VVConfig;
+import vv.devices.SignalRegistry;
+import vv.diagnostics.LoopProbe;
+import vv.diagnostics.LoopProfiler;
+import vv.sims.LockstepSimulation;
 
 @Logged
-public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder> implements Subsystem {
+public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANcoder> implements DrivetrainIO {
     private final double discretizationDelta;
     private final double maxLinearSpeedMps;
     private final double maxRadsPerSecond;
 
+    // Reused on every drive call so the 50 Hz control path doesn't allocate
+    private final ChassisSpeeds robotSpeeds = new ChassisSpeeds();
+    private final ChassisSpeeds fieldSpeeds = new ChassisSpeeds();
+    private final SwerveRequest.ApplyRobotSpeeds robotSpeedsRequest = new SwerveRequest.ApplyRobotSpeeds()
+        .withSpeeds(robotSpeeds)
+        .withDesaturateWheelSpeeds(true);
+    private final SwerveRequest.ApplyFieldSpeeds fieldSpeedsRequest = new SwerveRequest.ApplyFieldSpeeds()
+        .withSpeeds(fieldSpeeds)
+        .withDesaturateWheelSpeeds(true);
+
+    private final DrivetrainSnapshot snapshot = new DrivetrainSnapshot();
+    private final PoseHistory poseHistory;
+    private final DrivetrainControlLoop controlLoop;
+    private double simLoopPeriod;
+    // Only started for real-time simulation; lockstep simulation steps physics from simulationPeriodic()
+    private Notifier simNotifier;
+    // Lockstep simulation keeps its own module physics so resetSimulation() can replace it
+    private final SwerveModuleConstants<?, ?, ?>[] moduleConstants;
+    private SimSwerveDrivetrain simDrivetrain;
+
+    // Lockstep simulation waits on the odometry thread: the signals it samples, and its update count
+    private static final double ODOMETRY_TIMEOUT_SECONDS = 5.0;
+    private BaseStatusSignal[] odometrySignals = new BaseStatusSignal[0];
+    private final Object odometryLock = new Object();
+    private long odometryUpdates = 0;
+    private static final int POSE_RESET_UPDATES = 3;
+    private final SwerveRequest idle = new SwerveRequest.Idle();
+
+    private final LoopProbe periodicProbe = LoopProfiler.probe("DrivetrainSubsystem.periodic");
+    private final LoopProbe simulationProbe = LoopProfiler.probe("DrivetrainSubsystem.simulationPeriodic");
+
     public DrivetrainSubsystem(
         VVConfig config,
         SwerveDrivetrainConstants drivetrainConstants,
@@ -40,20 +81,109 @@ public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANc
             drivetrainConstants,
             swerveModules
         );
+        this.moduleConstants = swerveModules;
         var delta = config.drivetrain().discretizationDelta();
         maxLinearSpeedMps = config.drivetrain().constants().maxLinearSpeed().abs(MetersPerSecond);
         maxRadsPerSecond = config.drivetrain().constants().maxRotationsPerSecond().abs(RadiansPerSecond);
         config.drivetrain().constants().maxRotationsPerSecond();
         this.discretizationDelta = Seconds.convertFrom(delta.baseUnitMagnitude(), delta.unit());
-        if (Utils.isSimulation()) {
+        this.poseHistory = new PoseHistory(config.drivetrain().poseHistoryCapacity());
+        this.controlLoop = new DrivetrainControlLoop(this, 1.0 / config.drivetrain().controlLoopFreq().in(Hertz));
+        registerTelemetry(this::recordPose);
+        for (var module : getModules()) {
+            SignalRegistry.registerDevices(module.getDriveMotor(), module.getSteerMotor(), module.getEncoder());
+        }
+        SignalRegistry.registerDevices(getPigeon2());
+        // In hoot replay the devices report what was recorded, so there is no physics to run
+        if (Utils.isSimulation() && !Utils.isReplay()) {
             handleSimulation(config);
-        }        
+        }
+        refreshSnapshot();
+    }
+
+    @Override
+    public void periodic() {
+        periodicProbe.start();
+        refreshSnapshot();
+        periodicProbe.stop();
+    }
+
+    /**
+     * Copies the latest odometry into the loop snapshot. This runs at the start of every
+     * scheduler cycle, so only call it directly when the drivetrain isn't registered.
+     */
+    public void refreshSnapshot() {
+        snapshot.capture(getState());
+    }
+
+    /**
+     * @return the state captured at the start of the current scheduler cycle
+     */
+    @Override
+    public DrivetrainSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Telemetry callback, called by Phoenix on the odometry thread after every odometry update.
+     */
+    private void recordPose(SwerveDriveState state) {
+        var pose = state.Pose;
+        poseHistory.record(state.Timestamp, pose.getX(), pose.getY(), pose.getRotation().getRadians());
+        synchronized (odometryLock) {
+            odometryUpdates++;
+            odometryLock.notifyAll();
+        }
+    }
+
+    /**
+     * Interpolated pose at a past point in time, e.g. when a delayed sensor measurement was taken.
+     *
+     * @param timestamp Time in the Phoenix time base ({@link Utils#getCurrentTimeSeconds()}); use
+     *                  {@link Utils#fpgaToCurrentTime(double)} to convert FPGA timestamps
+     * @return the pose at that time, clamped to the oldest/newest recorded pose
+     */
+    public Optional<Pose2d> getPoseAt(double timestamp) {
+        return poseHistory.getPoseAt(timestamp);
+    }
+
+    /**
+     * Runs the control on the high-rate control loop ({@code drivetrain.control.loop.hz}) until
+     * {@link #stopHighRateControl(HighRateControl)} is called, replacing any control already
+     * running. Each iteration reads the latest odometry and sends the drive request directly.
+     */
+    @Override
+    public void startHighRateControl(HighRateControl control) {
+        controlLoop.start(control);
+    }
+
+    /**
+     * Stops the control if it is still running. Once this returns it will not send another
+     * request, so the caller can drive (e.g. {@link #stop()}) without being overwritten.
+     */
+    @Override
+    public void stopHighRateControl(HighRateControl control) {
+        controlLoop.stop(control);
+    }
+
+    @Override
+    public boolean isHighRateControlRunning() {
+        return controlLoop.isRunning();
+    }
+
+    /**
+     * @return the period the high-rate control loop runs at (seconds), for building controllers
+     */
+    @Override
+    public double getControlLoopPeriod() {
+        return controlLoop.periodSeconds();
     }
 
     public Command applyRequest(Supplier<SwerveRequest> requestSupplier) {
         return run(() -> this.setControl(requestSupplier.get()));
     }
 
+    @Override
     public void stop() {
         driveRobotRelative(0,0,0);
     }
@@ -63,17 +193,16 @@ public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANc
      * @param vy Linear velocity in the Y direction (m/s)
      * @param omega Angular velocity (rad/s)
      */
+    @Override
     public void driveRobotRelative(double vx, double vy, double omega) {
-        ChassisSpeeds targetSpeeds = ChassisSpeeds.discretize(
-            clampLinearVelocity(vx), 
+        discretize(
+            robotSpeeds,
+            clampLinearVelocity(vx),
             clampLinearVelocity(vy),
             clampAngularVelocity(omega),
             this.discretizationDelta
         );
-        this.setControl(new SwerveRequest.ApplyRobotSpeeds()
-            .withSpeeds(targetSpeeds)
-            .withDesaturateWheelSpeeds(true)
-        );
+        this.setControl(robotSpeedsRequest);
     }
 
     /**
@@ -81,32 +210,46 @@ public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANc
      * @param vy Linear velocity in the Y direction (m/s)
      * @param omega Angular velocity (rad/s)
      */
+    @Override
     public void driveFieldRelative(double vx, double vy, double omega) {
-        ChassisSpeeds targetSpeeds = ChassisSpeeds.discretize(
-            clampLinearVelocity(vx), 
+        discretize(
+            fieldSpeeds,
+            clampLinearVelocity(vx),
             clampLinearVelocity(vy),
             clampAngularVelocity(omega),
             this.discretizationDelta
         );
-        this.setControl(new SwerveRequest.ApplyFieldSpeeds()
-            .withSpeeds(targetSpeeds)
-            .withDesaturateWheelSpeeds(true)
-        );
+        this.setControl(fieldSpeedsRequest);
     }
 
     private void handleSimulation(VVConfig config) {
-        var simRate = config.simulation().simLoopPeriodFreq();
-        for (var module : getModules()) {
-            module.getDriveMotor().getPosition().setUpdateFrequency(simRate);
-            module.getDriveMotor().getVelocity().setUpdateFrequency(simRate);
-            module.getSteerMotor().getPosition().setUpdateFrequency(simRate);
-            module.getSteerMotor().getVelocity().setUpdateFrequency(simRate);
-            module.getEncoder().getPosition().setUpdateFrequency(simRate);
-            module.getEncoder().getVelocity().setUpdateFrequency(simRate);
+        // The odometry thread refreshes these itself, so only their rate is set here, in one call
+        var modules = getModules();
+        var signals = new BaseStatusSignal[modules.length * 6 + 2];
+        for (int i = 0; i < modules.length; i++) {
+            var module = modules[i];
+            signals[i * 6] = module.getDriveMotor().getPosition();
+            signals[i * 6 + 1] = module.getDriveMotor().getVelocity();
+            signals[i * 6 + 2] = module.getSteerMotor().getPosition();
+            signals[i * 6 + 3] = module.getSteerMotor().getVelocity();
+            signals[i * 6 + 4] = module.getEncoder().getPosition();
+            signals[i * 6 + 5] = module.getEncoder().getVelocity();
         }
-        
-        final double simLoopPeriod = config.simulation().simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
-        Notifier simNotifier = new Notifier(new Runnable() {
+        signals[modules.length * 6] = getPigeon2().getYaw();
+        signals[modules.length * 6 + 1] = getPigeon2().getAngularVelocityZWorld();
+        odometrySignals = signals;
+
+        simLoopPeriod = config.simulation().simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
+        if (LockstepSimulation.isEnabled()) {
+            // Physics is stepped from simulationPeriodic() instead, in lockstep with the scheduler. Each
+            // step waits for the signals to publish, so they run fast to keep that wait short.
+            SignalRegistry.setUpdateFrequency(config.simulation().signalUpdateFreq(), signals);
+            simDrivetrain = newSimDrivetrain();
+            return;
+        }
+        SignalRegistry.setUpdateFrequency(config.simulation().simLoopPeriodFreq(), signals);
+
+        simNotifier = new Notifier(new Runnable() {
             private double lastSimTime = Utils.getCurrentTimeSeconds();
             @Override
             public void run() {
@@ -119,28 +262,145 @@ public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANc
         simNotifier.startPeriodic(simLoopPeriod);
     }
 
+    /**
+     * Stops the high-rate control and simulation notifiers and releases the swerve drivetrain's
+     * devices and odometry thread. The drivetrain can't be used afterwards.
+     */
+    @Override
+    public void close() {
+        CommandScheduler.getInstance().unregisterSubsystem(this);
+        controlLoop.close();
+        if (simNotifier != null) {
+            simNotifier.close();
+            simNotifier = null;
+        }
+        super.close();
+    }
+
+    @Override
+    public void simulationPeriodic() {
+        simulationProbe.start();
+        if (LockstepSimulation.isEnabled() && !Utils.isReplay()) {
+            stepSimulation(simLoopPeriod);
+        }
+        simulationProbe.stop();
+    }
+
+    /**
+     * Advances the physics by {@code dt} with the odometry thread paused, so it never samples a
+     * half-updated drivetrain, then waits until it has sampled the result. Each step then moves
+     * odometry by exactly the simulated motion, however loaded the machine is, and the pose read on
+     * the next step is never behind the physics.
+     */
+    private void stepSimulation(double dt) {
+        var odometryThread = getOdometryThread();
+        odometryThread.stop();
+        long updatesBefore;
+        synchronized (odometryLock) {
+            updatesBefore = odometryUpdates;
+        }
+        simDrivetrain.update(dt, RobotController.getBatteryVoltage(), getModules());
+        // Every signal has published the new state before odometry starts sampling again
+        var status = BaseStatusSignal.waitForAll(ODOMETRY_TIMEOUT_SECONDS, odometrySignals);
+        if (!status.isOK()) {
+            throw new IllegalStateException("Simulated drivetrain signals did not update: " + status);
+        }
+        odometryThread.start();
+        awaitOdometryUpdate(updatesBefore);
+    }
+
+    /**
+     * Lockstep simulation only: puts the simulated modules back the way they were built (at rest,
+     * pointing forward) and resets odometry to the pose, without advancing simulated time. Returns
+     * once odometry reports the pose.
+     *
+     * @throws IllegalStateException if odometry still isn't at the pose after a few updates
+     */
+    public void resetSimulation(Pose2d pose) {
+        if (simDrivetrain == null) {
+            throw new IllegalStateException("Only a drivetrain built for lockstep simulation can be reset");
+        }
+        // The odometry thread applies requests, so it has to go round once (or twice, if it was part
+        // way through) before the motors are neutral and the fresh physics stays at rest
+        setControl(idle);
+        awaitOdometryUpdates(2);
+        simDrivetrain = newSimDrivetrain();
+        // A zero-length step publishes the fresh module positions and lets odometry consume them
+        stepSimulation(0.0);
+
+        resetPose(pose);
+        for (int i = 0; i < POSE_RESET_UPDATES; i++) {
+            awaitOdometryUpdates(1);
+            if (isAt(getState().Pose, pose)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Odometry did not reset to " + pose + " within " + POSE_RESET_UPDATES
+            + " updates; it is at " + getState().Pose);
+    }
+
+    private SimSwerveDrivetrain newSimDrivetrain() {
+        return new SimSwerveDrivetrain(getModuleLocations(), getPigeon2().getSimState(), moduleConstants);
+    }
+
+    private static boolean isAt(Pose2d current, Pose2d target) {
+        return current.getTranslation().getDistance(target.getTranslation()) < 1E-6
+            && Math.abs(current.getRotation().minus(target.getRotation()).getRadians()) < 1E-6;
+    }
+
+    private void awaitOdometryUpdates(int count) {
+        long updatesBefore;
+        synchronized (odometryLock) {
+            updatesBefore = odometryUpdates;
+        }
+        awaitOdometryUpdate(updatesBefore + count - 1);
+    }
+
+    /**
+     * Blocks until the odometry thread has finished an update after the given count. The timeout
+     * only catches a stopped odometry thread; it isn't part of normal stepping.
+     */
+    private void awaitOdometryUpdate(long updatesBefore) {
+        var deadline = System.nanoTime() + (long) (ODOMETRY_TIMEOUT_SECONDS * 1E9);
+        synchronized (odometryLock) {
+            while (odometryUpdates <= updatesBefore) {
+                var remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new IllegalStateException("Odometry did not update within " + ODOMETRY_TIMEOUT_SECONDS + "s");
+                }
+                try {
+                    odometryLock.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for odometry", e);
+                }
+            }
+        }
+    }
+
     public void logPose() {
+        var pose = this.getState().Pose;
         System.out.println(
             String.format("Drivetrain @ (%.3fm, %.3fm, %.2f deg)",
-            this.getState().Pose.getMeasureX().baseUnitMagnitude(),
-            this.getState().Pose.getMeasureY().baseUnitMagnitude(),
-            this.getState().Pose.getRotation().getDegrees()
+            pose.getMeasureX().baseUnitMagnitude(),
+            pose.getMeasureY().baseUnitMagnitude(),
+            pose.getRotation().getDegrees()
         ));
     }
 
     @Logged
     public double getPoseX() {
-        return this.getState().Pose.getX();
+        return this.snapshot.pose().getX();
     }
 
     @Logged
     public double getPoseY() {
-        return this.getState().Pose.getX();
+        return this.snapshot.pose().getY();
     }
 
     @Logged
     public Rotation2d getRot() {
-        return this.getState().Pose.getRotation();
+        return this.snapshot.pose().getRotation();
     }
 
 
@@ -153,6 +413,28 @@ public class DrivetrainSubsystem extends SwerveDrivetrain<TalonFX, TalonFX, CANc
         return clamp(v, -maxRadsPerSecond, maxRadsPerSecond);
     }
 
+    /**
+     * In-place equivalent of {@link ChassisSpeeds#discretize(double, double, double, double)}:
+     * the twist that moves the robot along the constant-curvature arc ending at the pose it
+     * would reach by integrating (vx, vy, omega) for dt, without the intermediate Pose2d/Twist2d.
+     */
+    public static void discretize(ChassisSpeeds out, double vx, double vy, double omega, double dt) {
+        var dtheta = omega * dt;
+        var halfDtheta = dtheta / 2.0;
+        var cosMinusOne = Math.cos(dtheta) - 1.0;
+        double halfThetaByTanOfHalfDtheta;
+        if (Math.abs(cosMinusOne) < 1E-9) {
+            halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+        } else {
+            halfThetaByTanOfHalfDtheta = -(halfDtheta * Math.sin(dtheta)) / cosMinusOne;
+        }
+        var dx = vx * dt;
+        var dy = vy * dt;
+        out.vxMetersPerSecond = (dx * halfThetaByTanOfHalfDtheta + dy * halfDtheta) / dt;
+        out.vyMetersPerSecond = (dy * halfThetaByTanOfHalfDtheta - dx * halfDtheta) / dt;
+        out.omegaRadiansPerSecond = omega;
+    }
+
     private static double clamp(double value, double lowerBound, double upperBound) {
         return Math.min(Math.max(lowerBound, value), upperBound);
     }
@@ -0,0 +1,21 @@
+package vv.subsystems.drivetrain;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/**
+ * Control math run by the drivetrain's high-rate control loop instead of the scheduler. See
+ * {@link DrivetrainSubsystem#startHighRateControl(HighRateControl)}.
+ *
+ * Implementations run on the control loop thread while the loop is active, so anything they
+ * share with the scheduler thread must be handed off through volatile fields.
+ */
+@FunctionalInterface
+public interface HighRateControl {
+
+    /**
+     * @param pose Latest odometry pose
+     * @param out Field-relative speeds to drive at (m/s, rad/s); reused between calls
+     */
+    void calculate(Pose2d pose, ChassisSpeeds out);
+}
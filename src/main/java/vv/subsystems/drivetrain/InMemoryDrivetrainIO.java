@@ -0,0 +1,138 @@
+package vv.subsystems.drivetrain;
+
+import static edu.wpi.first.units.Units.Hertz;
+import static edu.wpi.first.units.Units.MetersPerSecond;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import vv.config.VVConfig;
+
+/**
+ * An ideal drivetrain: it moves at exactly the commanded (clamped) speeds, with no module
+ * dynamics, HAL or Phoenix. Time only passes when {@link #step(double)} is called, which runs any
+ * high-rate control, integrates the pose and refreshes the snapshot, so tests call it where the
+ * scheduler would run {@link #periodic()}.
+ *
+ * Not thread-safe; high-rate control runs on the caller's thread inside {@link #step(double)}.
+ */
+public class InMemoryDrivetrainIO implements DrivetrainIO {
+    private final double maxLinearSpeedMps;
+    private final double maxRadsPerSecond;
+    private final double controlLoopPeriod;
+    private final DrivetrainSnapshot snapshot = new DrivetrainSnapshot();
+    private final ChassisSpeeds controlOut = new ChassisSpeeds();
+
+    private HighRateControl control;
+    private double x;
+    private double y;
+    private double theta;
+    private double time;
+    // Field-relative
+    private double vx;
+    private double vy;
+    private double omega;
+
+    public InMemoryDrivetrainIO(VVConfig config) {
+        maxLinearSpeedMps = config.drivetrain().constants().maxLinearSpeed().abs(MetersPerSecond);
+        maxRadsPerSecond = config.drivetrain().constants().maxRotationsPerSecond().abs(RadiansPerSecond);
+        controlLoopPeriod = 1.0 / config.drivetrain().controlLoopFreq().in(Hertz);
+        publish();
+    }
+
+    /**
+     * Moves the robot at the commanded speeds for {@code dt} seconds. Any high-rate control runs
+     * first, as many times as its loop would have in that time.
+     */
+    public void step(double dt) {
+        if (control == null) {
+            integrate(dt);
+        } else {
+            var remaining = dt;
+            while (remaining > 1E-9) {
+                var slice = Math.min(controlLoopPeriod, remaining);
+                control.calculate(new Pose2d(x, y, new Rotation2d(theta)), controlOut);
+                setFieldSpeeds(controlOut.vxMetersPerSecond, controlOut.vyMetersPerSecond, controlOut.omegaRadiansPerSecond);
+                integrate(slice);
+                remaining -= slice;
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Teleports the robot, for setting up a test.
+     */
+    public void setPose(Pose2d pose) {
+        x = pose.getX();
+        y = pose.getY();
+        theta = pose.getRotation().getRadians();
+        publish();
+    }
+
+    @Override
+    public DrivetrainSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public void driveRobotRelative(double vx, double vy, double omega) {
+        var cos = Math.cos(theta);
+        var sin = Math.sin(theta);
+        setFieldSpeeds(vx * cos - vy * sin, vx * sin + vy * cos, omega);
+    }
+
+    @Override
+    public void driveFieldRelative(double vx, double vy, double omega) {
+        setFieldSpeeds(vx, vy, omega);
+    }
+
+    @Override
+    public void stop() {
+        setFieldSpeeds(0, 0, 0);
+    }
+
+    @Override
+    public void startHighRateControl(HighRateControl control) {
+        this.control = control;
+    }
+
+    @Override
+    public void stopHighRateControl(HighRateControl control) {
+        if (this.control == control) {
+            this.control = null;
+        }
+    }
+
+    @Override
+    public boolean isHighRateControlRunning() {
+        return control != null;
+    }
+
+    @Override
+    public double getControlLoopPeriod() {
+        return controlLoopPeriod;
+    }
+
+    private void setFieldSpeeds(double vx, double vy, double omega) {
+        this.vx = MathUtil.clamp(vx, -maxLinearSpeedMps, maxLinearSpeedMps);
+        this.vy = MathUtil.clamp(vy, -maxLinearSpeedMps, maxLinearSpeedMps);
+        this.omega = MathUtil.clamp(omega, -maxRadsPerSecond, maxRadsPerSecond);
+    }
+
+    private void integrate(double dt) {
+        x += vx * dt;
+        y += vy * dt;
+        theta = MathUtil.angleModulus(theta + omega * dt);
+        time += dt;
+    }
+
+    private void publish() {
+        // The snapshot's speeds are robot-relative
+        var cos = Math.cos(theta);
+        var sin = Math.sin(theta);
+        snapshot.update(new Pose2d(x, y, new Rotation2d(theta)), vx * cos + vy * sin, -vx * sin + vy * cos, omega, time);
+    }
+}
@@ -0,0 +1,140 @@
+package vv.subsystems.drivetrain;
+
+import java.lang.invoke.VarHandle;
+import java.util.Optional;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * Fixed-capacity history of timestamped poses stored in primitive arrays.
+ *
+ * There must be exactly one writer (the Phoenix odometry thread); any number of threads can read.
+ * Writes never allocate or lock. Readers use the seqlock pattern: they read without locking, then
+ * check whether the writer could have overwritten any slot they read, and retry if it could.
+ */
+public final class PoseHistory {
+    private final int capacity;
+    private final double[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] thetas;
+
+    // Number of entries the writer has started (claimed) and finished (count) writing
+    private volatile long claimed = 0;
+    private volatile long count = 0;
+
+    public PoseHistory(int capacity) {
+        if (capacity < 4) {
+            throw new IllegalArgumentException("Pose history capacity must be at least 4, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.timestamps = new double[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.thetas = new double[capacity];
+    }
+
+    /**
+     * Appends a pose. Samples that are not newer than the last recorded sample are dropped so
+     * the history stays sorted. Must only be called from a single thread.
+     *
+     * @param timestamp Sample time (seconds)
+     * @param x Field X position (m)
+     * @param y Field Y position (m)
+     * @param theta Heading (rad)
+     */
+    public void record(double timestamp, double x, double y, double theta) {
+        var n = count;
+        if (n > 0 && timestamp <= timestamps[slot(n - 1)]) {
+            return;
+        }
+
+        claimed = n + 1;
+        // Keep the slot writes below from becoming visible before the claim
+        VarHandle.releaseFence();
+        var i = slot(n);
+        timestamps[i] = timestamp;
+        xs[i] = x;
+        ys[i] = y;
+        thetas[i] = theta;
+        count = n + 1;
+    }
+
+    /**
+     * Looks up the pose at a point in time in O(log n), interpolating between the two samples
+     * on either side of it. Times outside the history are clamped to the oldest/newest sample.
+     *
+     * @param timestamp Time in the same time base as the recorded samples (seconds)
+     * @return the interpolated pose, or empty if nothing has been recorded yet
+     */
+    public Optional<Pose2d> getPoseAt(double timestamp) {
+        while (true) {
+            var end = count;
+            if (end == 0) {
+                return Optional.empty();
+            }
+            // Leave one slot clear for the write that may be in progress
+            var start = Math.max(0, end - (capacity - 1));
+
+            // Binary search for the last sample at or before the timestamp
+            var lo = start;
+            var hi = end - 1;
+            if (timestamp <= timestamps[slot(lo)]) {
+                hi = lo;
+            } else if (timestamp >= timestamps[slot(hi)]) {
+                lo = hi;
+            } else {
+                while (hi - lo > 1) {
+                    var mid = (lo + hi) >>> 1;
+                    if (timestamps[slot(mid)] <= timestamp) {
+                        lo = mid;
+                    } else {
+                        hi = mid;
+                    }
+                }
+            }
+
+            var a = slot(lo);
+            var b = slot(hi);
+            var t0 = timestamps[a];
+            var t1 = timestamps[b];
+            var x0 = xs[a];
+            var y0 = ys[a];
+            var theta0 = thetas[a];
+            var x1 = xs[b];
+            var y1 = ys[b];
+            var theta1 = thetas[b];
+
+            VarHandle.acquireFence();
+            if (claimed - 1 - start >= capacity) {
+                // The writer lapped us while we were reading; try again with fresh bounds
+                continue;
+            }
+
+            var fraction = t1 > t0 ? MathUtil.clamp((timestamp - t0) / (t1 - t0), 0.0, 1.0) : 0.0;
+            var theta = theta0 + MathUtil.angleModulus(theta1 - theta0) * fraction;
+            return Optional.of(new Pose2d(
+                MathUtil.interpolate(x0, x1, fraction),
+                MathUtil.interpolate(y0, y1, fraction),
+                new Rotation2d(theta)
+            ));
+        }
+    }
+
+    /**
+     * @return the number of samples currently available to readers
+     */
+    public int size() {
+        return (int) Math.min(count, capacity - 1);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private int slot(long index) {
+        return (int) (index % capacity);
+    }
+}
@@ -0,0 +1,32 @@
+package vv.subsystems.roller;
+
+import edu.wpi.first.wpilibj.AddressableLED;
+import edu.wpi.first.wpilibj.AddressableLEDBuffer;
+
+/**
+ * An addressable LED strip on a PWM port.
+ */
+public class AddressableLEDIO implements LEDIO {
+
+    private final AddressableLED led;
+
+    public AddressableLEDIO(int port, int length) {
+        led = new AddressableLED(port);
+        led.setLength(length);
+    }
+
+    @Override
+    public void start() {
+        led.start();
+    }
+
+    @Override
+    public void setData(AddressableLEDBuffer buffer) {
+        led.setData(buffer);
+    }
+
+    @Override
+    public void close() {
+        led.close();
+    }
+}
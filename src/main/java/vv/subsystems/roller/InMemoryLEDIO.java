@@ -0,0 +1,55 @@
+package vv.subsystems.roller;
+
+import edu.wpi.first.wpilibj.AddressableLEDBuffer;
+import edu.wpi.first.wpilibj.util.Color;
+
+/**
+ * Keeps a copy of the last frame sent, for tests that don't need HAL. Frames arrive on the
+ * compositor thread, so reads are synchronized against them.
+ */
+public class InMemoryLEDIO implements LEDIO {
+
+    private final AddressableLEDBuffer frame;
+    private long frames = 0;
+    private boolean started = false;
+
+    public InMemoryLEDIO(int length) {
+        frame = new AddressableLEDBuffer(length);
+    }
+
+    @Override
+    public synchronized void start() {
+        started = true;
+    }
+
+    @Override
+    public synchronized void setData(AddressableLEDBuffer buffer) {
+        for (int i = 0; i < frame.getLength(); i++) {
+            frame.setRGB(i, buffer.getRed(i), buffer.getGreen(i), buffer.getBlue(i));
+        }
+        frames++;
+    }
+
+    /**
+     * @return the colour of one LED in the last frame sent
+     */
+    public synchronized Color getLED(int index) {
+        return frame.getLED(index);
+    }
+
+    /**
+     * @return how many frames have been sent
+     */
+    public synchronized long frames() {
+        return frames;
+    }
+
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    @Override
+    public synchronized void close() {
+        started = false;
+    }
+}
@@ -0,0 +1,29 @@
+package vv.subsystems.roller;
+
+/**
+ * A roller motor that applies whatever it is set to straight away, for tests that don't need
+ * HAL or motor physics.
+ */
+public class InMemoryRollerMotorIO implements RollerMotorIO {
+
+    private double dutyCycle = 0;
+    private long writes = 0;
+
+    @Override
+    public void setDutyCycle(double dutyCycle) {
+        this.dutyCycle = dutyCycle;
+        writes++;
+    }
+
+    @Override
+    public double getDutyCycle() {
+        return dutyCycle;
+    }
+
+    /**
+     * @return how many times the duty cycle has been set
+     */
+    public long writes() {
+        return writes;
+    }
+}
@@ -0,0 +1,128 @@
+package vv.subsystems.roller;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.wpi.first.wpilibj.AddressableLEDBuffer;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.LEDPattern;
+
+/**
+ * Renders LED patterns on a low-priority background thread at a fixed frame rate, so the main
+ * loop never touches pixel data. Patterns are registered once and then shown by id.
+ *
+ * Static patterns are rendered into their own buffer when registered and only sent to the strip
+ * when the shown pattern changes. Animated patterns are re-rendered every frame into a back buffer
+ * which is then swapped with the front buffer and sent.
+ */
+public final class LEDCompositor implements AutoCloseable {
+
+    private record Frame(LEDPattern pattern, boolean animated, AddressableLEDBuffer cached) {}
+
+    private final LEDIO led;
+    private final int length;
+    private final long framePeriodNanos;
+    private AddressableLEDBuffer front;
+    private AddressableLEDBuffer back;
+
+    // Replaced (never mutated) on registration so the render thread can read it without locking
+    private volatile Frame[] frames = new Frame[0];
+    private volatile int requested = -1;
+    private volatile boolean running = false;
+    private Thread renderThread;
+
+    public LEDCompositor(LEDIO led, int length, double framesPerSecond) {
+        this.led = led;
+        this.length = length;
+        this.framePeriodNanos = (long) (1E9 / framesPerSecond);
+        this.front = new AddressableLEDBuffer(length);
+        this.back = new AddressableLEDBuffer(length);
+    }
+
+    /**
+     * @param pattern Pattern to render
+     * @param animated Whether the pattern changes over time and must be re-rendered every frame
+     * @return the id to pass to {@link #show(int)}
+     */
+    public synchronized int register(LEDPattern pattern, boolean animated) {
+        AddressableLEDBuffer cached = null;
+        if (!animated) {
+            cached = new AddressableLEDBuffer(length);
+            pattern.applyTo(cached);
+        }
+        var updated = Arrays.copyOf(frames, frames.length + 1);
+        updated[frames.length] = new Frame(pattern, animated, cached);
+        frames = updated;
+        return frames.length - 1;
+    }
+
+    /**
+     * Selects the pattern to render from the next frame on. Cheap enough to call every loop.
+     */
+    public void show(int patternId) {
+        if (patternId < 0 || patternId >= frames.length) {
+            throw new IllegalArgumentException("Unknown LED pattern id " + patternId);
+        }
+        requested = patternId;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        led.start();
+        renderThread = new Thread(this::renderLoop, "LEDCompositor");
+        renderThread.setDaemon(true);
+        renderThread.setPriority(Thread.MIN_PRIORITY);
+        renderThread.start();
+    }
+
+    private void renderLoop() {
+        var shown = -1;
+        var nextFrame = System.nanoTime();
+        while (running) {
+            var id = requested;
+            if (id >= 0) {
+                var frame = frames[id];
+                try {
+                    if (frame.animated()) {
+                        frame.pattern().applyTo(back);
+                        var rendered = back;
+                        back = front;
+                        front = rendered;
+                        led.setData(front);
+                    } else if (id != shown) {
+                        led.setData(frame.cached());
+                    }
+                    shown = id;
+                } catch (RuntimeException e) {
+                    DriverStation.reportError("LED render failed: " + e.getMessage(), e.getStackTrace());
+                }
+            }
+
+            nextFrame += framePeriodNanos;
+            var now = System.nanoTime();
+            if (nextFrame < now) {
+                // Fell behind (e.g. the thread was starved); don't try to catch up with a burst
+                nextFrame = now;
+            } else {
+                LockSupport.parkNanos(nextFrame - now);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = renderThread;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+        led.close();
+    }
+}
@@ -0,0 +1,20 @@
+package vv.subsystems.roller;
+
+import edu.wpi.first.wpilibj.AddressableLEDBuffer;
+
+/**
+ * An LED strip as the {@link LEDCompositor} drives it. {@link AddressableLEDIO} is the real strip
+ * (and HAL's simulated one in sim); {@link InMemoryLEDIO} needs no HAL.
+ */
+public interface LEDIO extends AutoCloseable {
+
+    void start();
+
+    /**
+     * Sends a frame to the strip. The buffer may be reused once this returns.
+     */
+    void setData(AddressableLEDBuffer buffer);
+
+    @Override
+    void close();
+}
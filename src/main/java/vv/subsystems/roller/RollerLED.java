@@ -1,48 +1,72 @@
 package vv.subsystems.roller;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
-import edu.wpi.first.wpilibj.AddressableLED;
-import edu.wpi.first.wpilibj.AddressableLEDBuffer;
 import edu.wpi.first.wpilibj.LEDPattern;
 import edu.wpi.first.wpilibj.util.Color;
 import vv.config.RollerConfig;
 
 public class RollerLED implements AutoCloseable {
     
-    private final AddressableLED led;
-    private final AddressableLEDBuffer buffer;
+    private final LEDCompositor compositor;
+    private final int offPattern;
+    private final Map<Color, Integer> solidPatterns = new HashMap<>();
     private Optional<Color> color = Optional.empty();
 
-    public RollerLED(RollerConfig.LEDConfig config) {
-        led = new AddressableLED(config.port());
-        buffer = new AddressableLEDBuffer(120);
-        led.setLength(buffer.getLength());
+    public RollerLED(RollerConfig.LEDConfig config, LEDIO io) {
+        compositor = new LEDCompositor(io, config.length(), config.framesPerSecond());
+        offPattern = compositor.register(LEDPattern.kOff, false);
+        compositor.show(offPattern);
+    }
+
+    /**
+     * Starts rendering on the compositor thread.
+     */
+    public void start() {
+        compositor.start();
     }
 
     public void setColor(Color color) {
-        setPattern(LEDPattern.solid(color));
+        var pattern = solidPatterns.get(color);
+        if (pattern == null) {
+            // Rendered once here, then cached by the compositor
+            pattern = compositor.register(LEDPattern.solid(color), false);
+            solidPatterns.put(color, pattern);
+        }
+        compositor.show(pattern);
         this.color = Optional.ofNullable(color);
     }
 
     public void off() {
-        setPattern(LEDPattern.kOff);
+        compositor.show(offPattern);
         this.color = Optional.empty();
     }
 
-    public Optional<Color> getColor() {
-        return this.color;
+    /**
+     * Shows a pattern registered with {@link #register(LEDPattern, boolean)}.
+     */
+    public void show(int patternId) {
+        compositor.show(patternId);
+        this.color = Optional.empty();
     }
 
-    private void setPattern(LEDPattern pattern) {
-        pattern.applyTo(buffer);
-        led.setData(buffer);
+    /**
+     * @param animated Whether the pattern must be re-rendered every frame (scrolling, blinking, ...)
+     * @return the pattern id to pass to {@link #show(int)}
+     */
+    public int register(LEDPattern pattern, boolean animated) {
+        return compositor.register(pattern, animated);
     }
 
+    public Optional<Color> getColor() {
+        return this.color;
+    }
 
     @Override
     public void close() throws Exception {
-        led.close();
+        compositor.close();
     }
 
 }
@@ -1,48 +1,49 @@
 package vv.subsystems.roller;
 
-import java.util.Optional;
-
-import com.ctre.phoenix6.Utils;
-import com.ctre.phoenix6.hardware.TalonFX;
-
 import vv.config.RollerConfig;
-import vv.config.SimulationConfig;
-import vv.sims.TalonFXSim;
+import vv.devices.DeviceConfigurator;
 
 public class RollerMotor {
     
-    private final TalonFX talon;
-    private final Optional<TalonFXSim> sim;
+    private final RollerMotorIO io;
     private final Double intakeSpeed;
     private final Double outputSpeed;
     private final Double idleSpeed;
 
-    public RollerMotor(RollerConfig.MotorConfig config, SimulationConfig simConfig) {
-        talon = new TalonFX(config.port());
+    public RollerMotor(RollerConfig.MotorConfig config, RollerMotorIO io) {
+        this.io = io;
         intakeSpeed = config.intakeSpeed();
         outputSpeed = config.outputSpeed();
         idleSpeed = config.idleSpeed();
+    }
 
-        sim = Optional.ofNullable(Utils.isSimulation() ? new TalonFXSim(simConfig, talon) : null);
+    /**
+     * Adds the motor's configuration to be applied (if it isn't already) at boot.
+     */
+    public void configure(DeviceConfigurator configurator) {
+        io.configure(configurator);
     }
 
     public void intake() {
-        talon.set(intakeSpeed);
+        io.setDutyCycle(intakeSpeed);
     }
 
     public void output() {
-        talon.set(outputSpeed);
+        io.setDutyCycle(outputSpeed);
     }
 
     public void idle() {
-        talon.set(idleSpeed);
+        io.setDutyCycle(idleSpeed);
     }
 
+    /**
+     * @return the applied duty cycle as of the last signal refresh
+     */
     public double getSetSpeed() {
-        return talon.get();
+        return io.getDutyCycle();
     }
 
-    public Optional<TalonFXSim> sim() {
-        return sim;
+    public RollerMotorIO io() {
+        return io;
     }
 }
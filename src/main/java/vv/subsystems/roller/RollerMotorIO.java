@@ -0,0 +1,31 @@
+package vv.subsystems.roller;
+
+import vv.devices.DeviceConfigurator;
+
+/**
+ * The roller motor as the subsystem sees it: a duty cycle out and the applied duty cycle back.
+ * {@link TalonFXRollerMotorIO} drives the real motor (and its simulation when running in sim);
+ * {@link InMemoryRollerMotorIO} needs no HAL, so roller logic can be tested on a plain JVM.
+ */
+public interface RollerMotorIO {
+
+    /**
+     * @param dutyCycle -1 to 1
+     */
+    void setDutyCycle(double dutyCycle);
+
+    /**
+     * @return the applied duty cycle as of the last signal refresh
+     */
+    double getDutyCycle();
+
+    /**
+     * Adds the motor's configuration to be applied (if it isn't already) at boot.
+     */
+    default void configure(DeviceConfigurator configurator) {}
+
+    /**
+     * Steps any simulated physics by one loop period.
+     */
+    default void simulationPeriodic() {}
+}
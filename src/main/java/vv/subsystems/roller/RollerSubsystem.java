@@ -1,42 +1,112 @@
 package vv.subsystems.roller;
 
 import java.util.Optional;
+import java.util.function.DoubleSupplier;
 
 import static edu.wpi.first.units.Units.Seconds;
 import edu.wpi.first.units.measure.Time;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj2.command.Command;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj2.command.Subsystem;
 import vv.config.VVConfig;
-import vv.sims.TalonFXSim;
-
-public final class RollerSubsystem extends SubsystemBase implements AutoCloseable {
-
-    private final Timer cmdTimer = new Timer();
+import vv.devices.DeviceConfigurator;
+import vv.diagnostics.LoopProbe;
+import vv.diagnostics.LoopProfiler;
+
+/**
+ * The roller motor and its status LEDs. The hardware sits behind {@link RollerMotorIO} and
+ * {@link LEDIO}, and time comes from an injected clock, so with in-memory IO the subsystem and its
+ * commands run on a plain JVM with no HAL.
+ */
+public final class RollerSubsystem implements Subsystem, AutoCloseable {
+
+    private final DoubleSupplier clock;
+    private double commandStart = 0;
     private Optional<Double> duration = Optional.empty();
     private RollerState state = RollerState.IDLING;
 
     private final RollerMotor motor;
     private final RollerLED led;
 
+    // Outputs are only rewritten when the state changes, or every outputRefreshSeconds in case a frame was lost
+    private final double outputRefreshSeconds;
+    private RollerState appliedState = null;
+    private double lastOutputTime = 0;
+    private long suppressedWrites = 0;
+
+    private final LoopProbe periodicProbe;
+    private final LoopProbe simulationProbe;
+
     public enum RollerState {
         INTAKING,
         OUTPUTTING,
         IDLING
     }
 
+    /**
+     * The roller on its real (or HAL-simulated) hardware, registered with the scheduler.
+     */
     public RollerSubsystem(VVConfig config) {
-        motor = new RollerMotor(config.roller().motor(), config.simulation());
-        led = new RollerLED(config.roller().led());
+        this(
+            config,
+            new TalonFXRollerMotorIO(config.roller().motor(), config.simulation()),
+            new AddressableLEDIO(config.roller().led().port(), config.roller().led().length()),
+            Timer::getFPGATimestamp,
+            true
+        );
+        register();
+    }
+
+    /**
+     * A roller on the given IO. It isn't registered with the scheduler, so either call
+     * {@link #register()} or drive {@link #periodic()} directly. It isn't profiled either, as the
+     * {@link LoopProfiler} is only safe to use from the main robot thread.
+     *
+     * @param clock Current time (seconds)
+     */
+    public RollerSubsystem(VVConfig config, RollerMotorIO motorIO, LEDIO ledIO, DoubleSupplier clock) {
+        this(config, motorIO, ledIO, clock, false);
+    }
+
+    private RollerSubsystem(VVConfig config, RollerMotorIO motorIO, LEDIO ledIO, DoubleSupplier clock, boolean profiled) {
+        this.clock = clock;
+        this.periodicProbe = profiled
+            ? LoopProfiler.probe("RollerSubsystem.periodic")
+            : LoopProfiler.untimed("RollerSubsystem.periodic");
+        this.simulationProbe = profiled
+            ? LoopProfiler.probe("RollerSubsystem.simulationPeriodic")
+            : LoopProfiler.untimed("RollerSubsystem.simulationPeriodic");
+        motor = new RollerMotor(config.roller().motor(), motorIO);
+        led = new RollerLED(config.roller().led(), ledIO);
+        led.start();
+        outputRefreshSeconds = config.roller().outputRefreshSeconds();
+    }
+
+    public void configureDevices(DeviceConfigurator configurator) {
+        motor.configure(configurator);
     }
 
     @Override
     public void periodic() {
-        if (duration.isPresent() && cmdTimer.get() > duration.get()) {
+        periodicProbe.start();
+        var now = clock.getAsDouble();
+        if (duration.isPresent() && now - commandStart > duration.get()) {
             setState(RollerState.IDLING, Optional.empty());
         }
 
+        if (state == appliedState && now - lastOutputTime < outputRefreshSeconds) {
+            // One motor write skipped. The LEDs only repost a pattern id, which the compositor already ignores
+            suppressedWrites++;
+        } else {
+            applyOutputs();
+            appliedState = state;
+            lastOutputTime = now;
+        }
+        periodicProbe.stop();
+    }
+
+    private void applyOutputs() {
         switch (state) {
             case IDLING -> {
                 this.motor.idle();
@@ -55,7 +125,9 @@ public final class RollerSubsystem extends SubsystemBase implements AutoCloseabl
 
     @Override
     public void simulationPeriodic() { 
-        motor.sim().ifPresent(TalonFXSim::updateState);
+        simulationProbe.start();
+        motor.io().simulationPeriodic();
+        simulationProbe.stop();
     }
 
     public RollerState getState() {
@@ -70,14 +142,17 @@ public final class RollerSubsystem extends SubsystemBase implements AutoCloseabl
         return led;
     }
 
+    /**
+     * @return the number of motor writes skipped because the outputs were already up to date
+     */
+    public long getSuppressedWrites() {
+        return suppressedWrites;
+    }
+
     private void setState(RollerState state, Optional<Double> duration) {
         this.state = state;
         this.duration = duration;
-        if (duration.isPresent()) {
-            startTimer(duration.get());
-        } else {
-            resetTimer();
-        }
+        this.commandStart = clock.getAsDouble();
     }
 
     public Command intake() {
@@ -110,18 +185,6 @@ public final class RollerSubsystem extends SubsystemBase implements AutoCloseabl
         ).withName("RollerIdle");
     }
 
-    private void resetTimer() {
-        cmdTimer.stop();
-        cmdTimer.reset();
-        this.duration = Optional.empty();
-    }
-
-    private void startTimer(double duration) {
-        cmdTimer.reset();
-        this.duration = Optional.of(duration);
-        cmdTimer.start();
-    }
-
     @Override
     public void close() throws Exception {
         led.close();
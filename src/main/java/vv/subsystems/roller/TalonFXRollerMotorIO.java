@@ -0,0 +1,64 @@
+package vv.subsystems.roller;
+
+import java.util.Optional;
+
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.Utils;
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.hardware.TalonFX;
+
+import vv.config.RollerConfig;
+import vv.config.SimulationConfig;
+import vv.devices.DeviceConfigurator;
+import vv.devices.SignalRegistry;
+import vv.sims.TalonFXSim;
+
+/**
+ * The roller's TalonFX. In simulation (but not hoot replay) a {@link TalonFXSim} stands in for
+ * the motor's physics.
+ */
+public class TalonFXRollerMotorIO implements RollerMotorIO {
+
+    private final TalonFX talon;
+    private final Optional<TalonFXSim> sim;
+    private final StatusSignal<Double> dutyCycle;
+    private final TalonFXConfiguration talonConfig;
+
+    public TalonFXRollerMotorIO(RollerConfig.MotorConfig config, SimulationConfig simConfig) {
+        talon = new TalonFX(config.port());
+        talonConfig = new TalonFXConfiguration()
+            .withCurrentLimits(new CurrentLimitsConfigs()
+                .withStatorCurrentLimit(config.statorCurrentLimitAmps())
+                .withStatorCurrentLimitEnable(true));
+
+        sim = Optional.ofNullable(Utils.isSimulation() && !Utils.isReplay() ? new TalonFXSim(simConfig, talon) : null);
+
+        dutyCycle = talon.getDutyCycle();
+        var signalFreq = Utils.isSimulation() ? simConfig.signalUpdateFreq() : config.signalUpdateFreq();
+        SignalRegistry.register(talon, signalFreq, dutyCycle);
+    }
+
+    @Override
+    public void setDutyCycle(double dutyCycle) {
+        talon.set(dutyCycle);
+    }
+
+    /**
+     * @return the applied duty cycle as of the last {@link SignalRegistry#refreshAll()}
+     */
+    @Override
+    public double getDutyCycle() {
+        return dutyCycle.getValue();
+    }
+
+    @Override
+    public void configure(DeviceConfigurator configurator) {
+        configurator.add(talon, talonConfig);
+    }
+
+    @Override
+    public void simulationPeriodic() {
+        sim.ifPresent(TalonFXSim::updateState);
+    }
+}
@@ -0,0 +1,42 @@
+package vv.telemetry;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * A single number. A double is one volatile write, so no further coordination is needed.
+ */
+public final class DoubleChannel implements TelemetryChannel {
+    private final DoublePublisher publisher;
+    private volatile double value = Double.NaN;
+    private double published = Double.NaN;
+    private boolean hasPublished = false;
+
+    DoubleChannel(NetworkTableInstance nt, String topic) {
+        publisher = nt.getDoubleTopic(topic).publish();
+    }
+
+    /**
+     * Hands off the latest value. Never blocks or allocates.
+     */
+    public void set(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean publish() {
+        var latest = value;
+        if (hasPublished && Double.compare(latest, published) == 0) {
+            return false;
+        }
+        publisher.set(latest);
+        published = latest;
+        hasPublished = true;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
@@ -0,0 +1,101 @@
+package vv.telemetry;
+
+import java.lang.invoke.VarHandle;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StructPublisher;
+
+/**
+ * A field pose, published as a {@link Pose2d} struct so dashboards get x, y and heading as one
+ * atomic value instead of three unrelated numbers.
+ *
+ * There must be exactly one writer (the robot loop). The pose is stored as three primitives
+ * guarded by a sequence counter (the seqlock pattern, as in
+ * {@link vv.subsystems.drivetrain.PoseHistory}): the writer makes the counter odd while it writes,
+ * and the reader retries if the counter was odd or changed while it was reading.
+ */
+public final class PoseChannel implements TelemetryChannel {
+    private final StructPublisher<Pose2d> publisher;
+
+    private volatile long sequence = 0;
+    private double x;
+    private double y;
+    private double theta;
+
+    private double publishedX;
+    private double publishedY;
+    private double publishedTheta;
+    private boolean hasPublished = false;
+
+    PoseChannel(NetworkTableInstance nt, String topic) {
+        publisher = nt.getStructTopic(topic, Pose2d.struct).publish();
+    }
+
+    /**
+     * Hands off the latest pose. Never blocks or allocates. Must only be called from a single thread.
+     */
+    public void set(Pose2d pose) {
+        set(pose.getX(), pose.getY(), pose.getRotation().getRadians());
+    }
+
+    /**
+     * @param x Field X position (m)
+     * @param y Field Y position (m)
+     * @param theta Heading (rad)
+     */
+    public void set(double x, double y, double theta) {
+        var s = sequence;
+        sequence = s + 1;
+        // Keep the field writes below from becoming visible before the counter goes odd
+        VarHandle.storeStoreFence();
+        this.x = x;
+        this.y = y;
+        this.theta = theta;
+        sequence = s + 2;
+    }
+
+    /**
+     * @return the latest pose, or {@link Pose2d#kZero} if nothing has been set yet
+     */
+    Pose2d get() {
+        while (true) {
+            var before = sequence;
+            if (before == 0) {
+                return Pose2d.kZero;
+            }
+            var x = this.x;
+            var y = this.y;
+            var theta = this.theta;
+            VarHandle.loadLoadFence();
+            if ((before & 1) == 0 && sequence == before) {
+                return new Pose2d(x, y, new Rotation2d(theta));
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean publish() {
+        if (sequence == 0) {
+            return false;
+        }
+        var pose = get();
+        var theta = pose.getRotation().getRadians();
+        if (hasPublished && pose.getX() == publishedX && pose.getY() == publishedY && theta == publishedTheta) {
+            return false;
+        }
+        publisher.set(pose);
+        publishedX = pose.getX();
+        publishedY = pose.getY();
+        publishedTheta = theta;
+        hasPublished = true;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
@@ -0,0 +1,18 @@
+package vv.telemetry;
+
+/**
+ * A value handed off from the robot loop and published by the {@link TelemetryService} thread.
+ */
+interface TelemetryChannel extends AutoCloseable {
+
+    /**
+     * Publishes the latest value if it differs from the last one published. Only called from the
+     * telemetry thread.
+     *
+     * @return whether a value was published
+     */
+    boolean publish();
+
+    @Override
+    void close();
+}
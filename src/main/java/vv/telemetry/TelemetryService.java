@@ -0,0 +1,135 @@
+package vv.telemetry;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import static edu.wpi.first.units.Units.Hertz;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import vv.config.TelemetryConfig;
+
+/**
+ * Publishes robot telemetry to NetworkTables from a low-priority background thread, at its own rate
+ * instead of once per robot loop.
+ *
+ * Channels are registered up front and then written from the robot loop with typed setters that
+ * never lock or allocate. Each pass, the telemetry thread publishes only the channels whose value
+ * changed since the last pass and then flushes them to the network together.
+ */
+public final class TelemetryService implements AutoCloseable {
+
+    private final NetworkTableInstance nt;
+    private final long periodNanos;
+
+    // Replaced (never mutated) on registration so the publish thread can read it without locking
+    private volatile TelemetryChannel[] channels = new TelemetryChannel[0];
+    private volatile boolean running = false;
+    private Thread publishThread;
+    private volatile long publishedValues = 0;
+
+    public TelemetryService(TelemetryConfig config) {
+        this(config, NetworkTableInstance.getDefault());
+    }
+
+    public TelemetryService(TelemetryConfig config, NetworkTableInstance nt) {
+        this.nt = nt;
+        this.periodNanos = (long) (1E9 / config.publishRate().in(Hertz));
+    }
+
+    /**
+     * @param topic Full NetworkTables topic name
+     * @return a channel publishing a {@link edu.wpi.first.math.geometry.Pose2d} struct
+     */
+    public PoseChannel pose(String topic) {
+        return register(new PoseChannel(nt, topic));
+    }
+
+    /**
+     * @param topic Full NetworkTables topic name
+     * @return a channel publishing a double
+     */
+    public DoubleChannel number(String topic) {
+        return register(new DoubleChannel(nt, topic));
+    }
+
+    private synchronized <T extends TelemetryChannel> T register(T channel) {
+        var updated = Arrays.copyOf(channels, channels.length + 1);
+        updated[channels.length] = channel;
+        channels = updated;
+        return channel;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        publishThread = new Thread(this::publishLoop, "TelemetryService");
+        publishThread.setDaemon(true);
+        publishThread.setPriority(Thread.MIN_PRIORITY);
+        publishThread.start();
+    }
+
+    /**
+     * Publishes every changed channel once. Called by the telemetry thread; tests can call it
+     * directly instead of starting the thread.
+     *
+     * @return the number of channels that were published
+     */
+    public int publishChanged() {
+        var published = 0;
+        for (var channel : channels) {
+            if (channel.publish()) {
+                published++;
+            }
+        }
+        if (published > 0) {
+            nt.flush();
+            publishedValues += published;
+        }
+        return published;
+    }
+
+    /**
+     * @return how many values have been published in total, for checking that unchanged values are skipped
+     */
+    public long getPublishedValues() {
+        return publishedValues;
+    }
+
+    private void publishLoop() {
+        var nextPass = System.nanoTime();
+        while (running) {
+            try {
+                publishChanged();
+            } catch (RuntimeException e) {
+                DriverStation.reportError("Telemetry publish failed: " + e.getMessage(), e.getStackTrace());
+            }
+
+            nextPass += periodNanos;
+            var now = System.nanoTime();
+            if (nextPass < now) {
+                // Fell behind (e.g. the thread was starved); don't try to catch up with a burst
+                nextPass = now;
+            } else {
+                LockSupport.parkNanos(nextPass - now);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = publishThread;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+        for (var channel : channels) {
+            channel.close();
+        }
+    }
+}
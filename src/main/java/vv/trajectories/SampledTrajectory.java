@@ -0,0 +1,106 @@
+package vv.trajectories;
+
+import java.nio.DoubleBuffer;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * A holonomic trajectory sampled at a fixed time step. Samples are stored interleaved in one
+ * buffer ({@value #STRIDE} doubles each: field x, y, heading, and field-relative vx, vy, omega),
+ * so looking up a time is an index calculation plus a linear interpolation, with no search and no
+ * allocation. The buffer is either a plain array or a memory-mapped file (see {@link TrajectoryFile}).
+ */
+public final class SampledTrajectory {
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int THETA = 2;
+    public static final int VX = 3;
+    public static final int VY = 4;
+    public static final int OMEGA = 5;
+    public static final int STRIDE = 6;
+
+    private final double dt;
+    private final DoubleBuffer samples;
+    private final int size;
+
+    /**
+     * @param dt Time between samples (seconds)
+     * @param samples Interleaved samples, {@value #STRIDE} values each, starting at t = 0
+     */
+    public SampledTrajectory(double dt, double[] samples) {
+        this(dt, DoubleBuffer.wrap(samples));
+    }
+
+    /**
+     * @param samples Interleaved samples from index 0 to the buffer's limit; only read with absolute gets
+     */
+    public SampledTrajectory(double dt, DoubleBuffer samples) {
+        if (dt <= 0) {
+            throw new IllegalArgumentException("Sample period must be positive, got " + dt);
+        }
+        if (samples.limit() < STRIDE || samples.limit() % STRIDE != 0) {
+            throw new IllegalArgumentException("Expected a non-empty multiple of " + STRIDE + " values, got " + samples.limit());
+        }
+        this.dt = dt;
+        this.samples = samples;
+        this.size = samples.limit() / STRIDE;
+    }
+
+    /**
+     * Writes the interpolated state at a time into {@code out}. Times outside the trajectory are
+     * clamped to its first/last sample.
+     *
+     * @param out Array of at least {@value #STRIDE} values, indexed by {@link #X}, {@link #Y}, ...
+     */
+    public void sample(double t, double[] out) {
+        var position = MathUtil.clamp(t / dt, 0, size - 1);
+        var i = Math.min((int) position, size - 2);
+        if (i < 0) {
+            samples.get(0, out, 0, STRIDE);
+            return;
+        }
+        var fraction = position - i;
+        var a = i * STRIDE;
+        var b = a + STRIDE;
+        for (int k = 0; k < STRIDE; k++) {
+            var from = samples.get(a + k);
+            out[k] = from + (samples.get(b + k) - from) * fraction;
+        }
+        var fromTheta = samples.get(a + THETA);
+        out[THETA] = MathUtil.angleModulus(fromTheta + MathUtil.angleModulus(samples.get(b + THETA) - fromTheta) * fraction);
+    }
+
+    public double duration() {
+        return (size - 1) * dt;
+    }
+
+    public double dt() {
+        return dt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Pose2d initialPose() {
+        return poseAt(0);
+    }
+
+    public Pose2d finalPose() {
+        return poseAt(size - 1);
+    }
+
+    /**
+     * @return a read-only view of the raw interleaved samples
+     */
+    DoubleBuffer samples() {
+        return samples.asReadOnlyBuffer();
+    }
+
+    private Pose2d poseAt(int index) {
+        var i = index * STRIDE;
+        return new Pose2d(samples.get(i + X), samples.get(i + Y), new Rotation2d(samples.get(i + THETA)));
+    }
+}
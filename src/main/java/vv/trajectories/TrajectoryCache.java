@@ -0,0 +1,72 @@
+package vv.trajectories;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Precomputed trajectories (see {@link TrajectoryCompiler}), memory-mapped from the deploy
+ * directory at boot. Lookups are a map access; nothing is parsed or generated on the robot.
+ */
+public final class TrajectoryCache {
+    public static final String DIRECTORY = "trajectories";
+
+    private final Map<String, SampledTrajectory> trajectories;
+
+    private TrajectoryCache(Map<String, SampledTrajectory> trajectories) {
+        this.trajectories = trajectories;
+    }
+
+    /**
+     * Maps every {@code .traj} file in a directory. A missing directory or unreadable file is
+     * reported to the driver station rather than failing robot startup.
+     */
+    public static TrajectoryCache load(Path directory) {
+        var trajectories = new HashMap<String, SampledTrajectory>();
+        if (!Files.isDirectory(directory)) {
+            DriverStation.reportWarning("No precomputed trajectories in " + directory + "; run ./gradlew precomputeTrajectories", false);
+            return new TrajectoryCache(trajectories);
+        }
+        try (var files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var name = file.getFileName().toString();
+                if (!name.endsWith(TrajectoryFile.EXTENSION)) {
+                    continue;
+                }
+                try {
+                    trajectories.put(name.substring(0, name.length() - TrajectoryFile.EXTENSION.length()), TrajectoryFile.map(file));
+                } catch (IOException e) {
+                    DriverStation.reportError("Failed to load trajectory " + file + ": " + e.getMessage(), false);
+                }
+            }
+        } catch (IOException e) {
+            DriverStation.reportError("Failed to list trajectories in " + directory + ": " + e.getMessage(), false);
+        }
+        return new TrajectoryCache(trajectories);
+    }
+
+    public Optional<SampledTrajectory> find(String id) {
+        return Optional.ofNullable(trajectories.get(id));
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no precomputed trajectory with that id
+     */
+    public SampledTrajectory get(String id) {
+        var trajectory = trajectories.get(id);
+        if (trajectory == null) {
+            throw new IllegalArgumentException("No precomputed trajectory '%s' (have %s)".formatted(id, trajectories.keySet()));
+        }
+        return trajectory;
+    }
+
+    public Set<String> ids() {
+        return trajectories.keySet();
+    }
+}
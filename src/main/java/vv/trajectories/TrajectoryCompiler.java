@@ -0,0 +1,64 @@
+package vv.trajectories;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+import edu.wpi.first.wpilibj.TimedRobot;
+import static vv.commands.utils.VVConstraints.generalRotationalConstraint;
+import static vv.commands.utils.VVConstraints.generalTrajectoryConfig;
+import vv.auto.AutoRoutine;
+import vv.auto.AutoRoutines;
+import vv.config.VVConfig;
+
+/**
+ * Build-time entry point (the {@code precomputeTrajectories} Gradle task) that generates every
+ * routine in {@link AutoRoutines} with the robot's trajectory limits and writes it as a
+ * {@link TrajectoryFile}. Files for routines that no longer exist are deleted.
+ *
+ * Usage: {@code TrajectoryCompiler <config.properties> <output directory>}
+ */
+public final class TrajectoryCompiler {
+
+    private TrajectoryCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TrajectoryCompiler <config.properties> <output directory>");
+            System.exit(2);
+        }
+        var config = VVConfig.readFromPath(args[0]);
+        var outputDir = Path.of(args[1]);
+        Files.createDirectories(outputDir);
+
+        var written = new HashSet<Path>();
+        for (var routine : AutoRoutines.all()) {
+            var path = outputDir.resolve(routine.id() + TrajectoryFile.EXTENSION);
+            if (!written.add(path)) {
+                throw new IllegalStateException("Duplicate routine id '" + routine.id() + "'");
+            }
+            var trajectory = compile(config, routine);
+            TrajectoryFile.write(trajectory, path);
+            System.out.println("%s: %d samples, %.2fs -> %s".formatted(routine.id(), trajectory.size(), trajectory.duration(), path));
+        }
+
+        try (var existing = Files.list(outputDir)) {
+            for (var file : (Iterable<Path>) existing::iterator) {
+                if (file.toString().endsWith(TrajectoryFile.EXTENSION) && !written.contains(file)) {
+                    Files.delete(file);
+                    System.out.println("Removed stale " + file);
+                }
+            }
+        }
+    }
+
+    public static SampledTrajectory compile(VVConfig config, AutoRoutine routine) {
+        return WaypointTrajectories.generate(
+            routine.waypoints(),
+            generalTrajectoryConfig(config),
+            generalRotationalConstraint(config),
+            TimedRobot.kDefaultPeriod
+        );
+    }
+}
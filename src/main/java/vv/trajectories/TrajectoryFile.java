@@ -0,0 +1,88 @@
+package vv.trajectories;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary on-disk format for a {@link SampledTrajectory}, laid out so the sample block can be
+ * memory-mapped and used in place:
+ *
+ * <pre>
+ * int    magic ('VVTJ')
+ * int    format version
+ * int    values per sample ({@link SampledTrajectory#STRIDE})
+ * int    sample count
+ * double sample period (s)
+ * double[count * stride] interleaved samples
+ * </pre>
+ *
+ * Everything is big-endian.
+ */
+public final class TrajectoryFile {
+    public static final String EXTENSION = ".traj";
+    private static final int MAGIC = 0x5656544A;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Double.BYTES;
+
+    private TrajectoryFile() {}
+
+    /**
+     * Writes the trajectory to a temporary file and moves it into place, so a reader never sees
+     * a partly written file.
+     */
+    public static void write(SampledTrajectory trajectory, Path path) throws IOException {
+        var samples = trajectory.samples();
+        var buffer = ByteBuffer.allocate(HEADER_BYTES + samples.limit() * Double.BYTES).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC)
+            .putInt(VERSION)
+            .putInt(SampledTrajectory.STRIDE)
+            .putInt(trajectory.size())
+            .putDouble(trajectory.dt());
+        buffer.asDoubleBuffer().put(samples);
+        buffer.rewind();
+
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a trajectory file. Only the header is read; samples are paged in by the OS as
+     * they are first sampled.
+     *
+     * @throws IOException if the file can't be read or isn't a trajectory in this format version
+     */
+    public static SampledTrajectory map(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Trajectory file " + path + " is truncated");
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.BIG_ENDIAN);
+            var magic = buffer.getInt();
+            var version = buffer.getInt();
+            var stride = buffer.getInt();
+            var count = buffer.getInt();
+            var dt = buffer.getDouble();
+            if (magic != MAGIC || version != VERSION || stride != SampledTrajectory.STRIDE) {
+                throw new IOException("Trajectory file %s has an unsupported format (version %d, stride %d); re-run precomputeTrajectories"
+                    .formatted(path, version, stride));
+            }
+            if (size != HEADER_BYTES + (long) count * stride * Double.BYTES) {
+                throw new IOException("Trajectory file " + path + " is truncated");
+            }
+            // The mapping stays valid after the channel is closed
+            return new SampledTrajectory(dt, buffer.slice().order(ByteOrder.BIG_ENDIAN).asDoubleBuffer());
+        }
+    }
+}
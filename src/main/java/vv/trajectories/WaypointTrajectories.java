@@ -0,0 +1,284 @@
+package vv.trajectories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+
+/**
+ * Builds one continuous {@link SampledTrajectory} through a list of robot poses.
+ *
+ * The translation follows a quintic spline through the waypoint positions. The spline's direction
+ * of travel at each waypoint points from the previous waypoint to the next one (Catmull-Rom
+ * style), so corners are rounded off instead of stopped at. The robot's heading is decoupled from
+ * the direction of travel: it is interpolated between the waypoint headings by distance along the
+ * path. Consecutive waypoints at the same position (e.g. a turn in place) are merged, keeping the
+ * last heading. If that leaves only one position, the result is a turn in place following the
+ * rotational limits' trapezoid profile.
+ *
+ * Spreading the heading over distance makes the turn rate the heading change per metre times the
+ * speed, so a big turn over a short leg can ask for more than the robot can rotate. Where that
+ * would exceed the rotational velocity or acceleration limit, the path is re-timed to drive more
+ * slowly. The rate can still step at a waypoint where the change per metre does.
+ */
+public final class WaypointTrajectories {
+
+    private WaypointTrajectories() {}
+
+    /**
+     * @param waypoints Poses to pass through, starting with the robot's current pose
+     * @param config Velocity/acceleration limits and constraints for the translation
+     * @param rotationLimits Angular velocity/acceleration limits for the heading (rad/s, rad/s^2)
+     * @param dt Sample period of the result (seconds)
+     * @throws IllegalArgumentException if there are no waypoints
+     */
+    public static SampledTrajectory generate(
+        List<Pose2d> waypoints,
+        TrajectoryConfig config,
+        TrapezoidProfile.Constraints rotationLimits,
+        double dt
+    ) {
+        if (waypoints.isEmpty()) {
+            throw new IllegalArgumentException("A trajectory needs at least one waypoint");
+        }
+        var merged = mergeDuplicateTranslations(waypoints);
+        if (merged.size() < 2) {
+            return turnInPlace(waypoints.get(0), merged.get(0).getRotation().getRadians(), rotationLimits, dt);
+        }
+
+        var splinePoints = new ArrayList<Pose2d>(merged.size());
+        for (int i = 0; i < merged.size(); i++) {
+            var previous = merged.get(Math.max(0, i - 1)).getTranslation();
+            var next = merged.get(Math.min(merged.size() - 1, i + 1)).getTranslation();
+            var travelDirection = next.minus(previous).getAngle();
+            splinePoints.add(new Pose2d(merged.get(i).getTranslation(), travelDirection));
+        }
+        var path = TrajectoryGenerator.generateTrajectory(splinePoints, config);
+
+        var size = (int) Math.ceil(path.getTotalTimeSeconds() / dt) + 1;
+        var samples = new double[size * SampledTrajectory.STRIDE];
+        var distances = new double[size];
+        var speeds = new double[size];
+        for (int i = 0; i < size; i++) {
+            var state = path.sample(Math.min(i * dt, path.getTotalTimeSeconds()));
+            var j = i * SampledTrajectory.STRIDE;
+            var direction = state.poseMeters.getRotation();
+            speeds[i] = state.velocityMetersPerSecond;
+            samples[j + SampledTrajectory.X] = state.poseMeters.getX();
+            samples[j + SampledTrajectory.Y] = state.poseMeters.getY();
+            samples[j + SampledTrajectory.VX] = state.velocityMetersPerSecond * direction.getCos();
+            samples[j + SampledTrajectory.VY] = state.velocityMetersPerSecond * direction.getSin();
+            if (i > 0) {
+                distances[i] = distances[i - 1] + Math.hypot(
+                    samples[j + SampledTrajectory.X] - samples[j - SampledTrajectory.STRIDE + SampledTrajectory.X],
+                    samples[j + SampledTrajectory.Y] - samples[j - SampledTrajectory.STRIDE + SampledTrajectory.Y]);
+            }
+        }
+
+        var headingRates = new double[size];
+        fillHeadings(samples, distances, headingRates, merged, config.getMaxVelocity() * dt);
+        if (limitSpeedsForTurning(speeds, distances, headingRates, config.getMaxAcceleration(), rotationLimits)) {
+            samples = retime(samples, distances, speeds, dt);
+            size = samples.length / SampledTrajectory.STRIDE;
+        }
+        fillAngularVelocities(samples, size, dt);
+        return new SampledTrajectory(dt, samples);
+    }
+
+    /**
+     * The shorter way round from the first waypoint's heading to {@code heading}, at its position.
+     */
+    private static SampledTrajectory turnInPlace(Pose2d start, double heading, TrapezoidProfile.Constraints rotationLimits, double dt) {
+        var startHeading = start.getRotation().getRadians();
+        var turn = MathUtil.angleModulus(heading - startHeading);
+        var profile = new TrapezoidProfile(rotationLimits);
+        var rest = new TrapezoidProfile.State();
+        var goal = new TrapezoidProfile.State(Math.abs(turn), 0.0);
+        profile.calculate(0.0, rest, goal);
+        var totalTime = profile.totalTime();
+
+        var size = (int) Math.ceil(totalTime / dt) + 1;
+        var samples = new double[size * SampledTrajectory.STRIDE];
+        for (int i = 0; i < size; i++) {
+            var state = profile.calculate(Math.min(i * dt, totalTime), rest, goal);
+            var j = i * SampledTrajectory.STRIDE;
+            samples[j + SampledTrajectory.X] = start.getX();
+            samples[j + SampledTrajectory.Y] = start.getY();
+            samples[j + SampledTrajectory.THETA] = MathUtil.angleModulus(startHeading + Math.copySign(state.position, turn));
+            samples[j + SampledTrajectory.OMEGA] = Math.copySign(state.velocity, turn);
+        }
+        return new SampledTrajectory(dt, samples);
+    }
+
+    private static List<Pose2d> mergeDuplicateTranslations(List<Pose2d> waypoints) {
+        var merged = new ArrayList<Pose2d>(waypoints.size());
+        for (var waypoint : waypoints) {
+            var last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && last.getTranslation().getDistance(waypoint.getTranslation()) < 1E-6) {
+                merged.set(merged.size() - 1, waypoint);
+            } else {
+                merged.add(waypoint);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Finds the sample where the path passes through each waypoint, then interpolates the heading
+     * between waypoints by the fraction of the distance travelled. Records the heading change per
+     * metre leaving each sample in {@code headingRates}.
+     */
+    private static void fillHeadings(double[] samples, double[] distances, double[] headingRates, List<Pose2d> waypoints, double sampleSpacing) {
+        var size = distances.length;
+        var waypointIndexes = new int[waypoints.size()];
+        waypointIndexes[waypoints.size() - 1] = size - 1;
+        for (int w = 1; w < waypoints.size() - 1; w++) {
+            waypointIndexes[w] = closestSampleAfter(samples, waypointIndexes[w - 1], size, waypoints.get(w).getTranslation(), sampleSpacing);
+        }
+
+        for (int w = 0; w < waypoints.size() - 1; w++) {
+            var from = waypointIndexes[w];
+            var to = waypointIndexes[w + 1];
+            var startHeading = waypoints.get(w).getRotation().getRadians();
+            var turn = MathUtil.angleModulus(waypoints.get(w + 1).getRotation().getRadians() - startHeading);
+            var segmentLength = distances[to] - distances[from];
+            for (int i = from; i < to; i++) {
+                headingRates[i] = segmentLength > 0 ? turn / segmentLength : 0.0;
+            }
+            for (int i = from; i <= to; i++) {
+                var fraction = segmentLength > 0 ? (distances[i] - distances[from]) / segmentLength : 1.0;
+                samples[i * SampledTrajectory.STRIDE + SampledTrajectory.THETA] = MathUtil.angleModulus(startHeading + turn * fraction);
+            }
+        }
+    }
+
+    /**
+     * Caps each sample's speed so the turn rate (heading change per metre times speed) and its
+     * rate of change stay within the rotational limits, then re-applies the acceleration limit
+     * forwards and backwards so the capped speeds are reachable. The speeds can only go down.
+     *
+     * @return whether the rotational limits were tighter than the translational ones anywhere
+     */
+    private static boolean limitSpeedsForTurning(
+        double[] speeds,
+        double[] distances,
+        double[] headingRates,
+        double maxAcceleration,
+        TrapezoidProfile.Constraints rotationLimits
+    ) {
+        var size = speeds.length;
+        var accelerations = new double[size];
+        var constrained = false;
+        for (int i = 0; i < size; i++) {
+            var rate = Math.abs(headingRates[i]);
+            accelerations[i] = maxAcceleration;
+            if (rate == 0) {
+                continue;
+            }
+            if (rotationLimits.maxAcceleration / rate < maxAcceleration) {
+                accelerations[i] = rotationLimits.maxAcceleration / rate;
+                constrained = true;
+            }
+            if (speeds[i] * rate > rotationLimits.maxVelocity) {
+                speeds[i] = rotationLimits.maxVelocity / rate;
+                constrained = true;
+            }
+        }
+        if (!constrained) {
+            return false;
+        }
+
+        for (int i = 1; i < size; i++) {
+            var reachable = Math.sqrt(speeds[i - 1] * speeds[i - 1] + 2 * accelerations[i - 1] * (distances[i] - distances[i - 1]));
+            speeds[i] = Math.min(speeds[i], reachable);
+        }
+        for (int i = size - 2; i >= 0; i--) {
+            var reachable = Math.sqrt(speeds[i + 1] * speeds[i + 1] + 2 * accelerations[i] * (distances[i + 1] - distances[i]));
+            speeds[i] = Math.min(speeds[i], reachable);
+        }
+        return true;
+    }
+
+    /**
+     * Re-samples the path at the period {@code dt} with new speeds, keeping its shape and headings.
+     * Time between samples comes from their distance apart at the average of their speeds.
+     */
+    private static double[] retime(double[] samples, double[] distances, double[] speeds, double dt) {
+        var size = distances.length;
+        var times = new double[size];
+        for (int i = 1; i < size; i++) {
+            var step = distances[i] - distances[i - 1];
+            times[i] = times[i - 1] + (step > 0 ? 2 * step / Math.max(speeds[i - 1] + speeds[i], 1E-9) : 0.0);
+        }
+
+        var newSize = (int) Math.ceil(times[size - 1] / dt) + 1;
+        var out = new double[newSize * SampledTrajectory.STRIDE];
+        var a = 0;
+        for (int n = 0; n < newSize; n++) {
+            var t = Math.min(n * dt, times[size - 1]);
+            while (a < size - 2 && times[a + 1] <= t) {
+                a++;
+            }
+            var b = Math.min(a + 1, size - 1);
+            var span = times[b] - times[a];
+            var fraction = span > 0 ? MathUtil.clamp((t - times[a]) / span, 0.0, 1.0) : 1.0;
+            var from = a * SampledTrajectory.STRIDE;
+            var to = b * SampledTrajectory.STRIDE;
+            var j = n * SampledTrajectory.STRIDE;
+            out[j + SampledTrajectory.X] = MathUtil.interpolate(samples[from + SampledTrajectory.X], samples[to + SampledTrajectory.X], fraction);
+            out[j + SampledTrajectory.Y] = MathUtil.interpolate(samples[from + SampledTrajectory.Y], samples[to + SampledTrajectory.Y], fraction);
+            var fromTheta = samples[from + SampledTrajectory.THETA];
+            out[j + SampledTrajectory.THETA] = MathUtil.angleModulus(fromTheta + MathUtil.angleModulus(samples[to + SampledTrajectory.THETA] - fromTheta) * fraction);
+
+            // Direction of travel from the original velocity, scaled to the new speed
+            var vx = MathUtil.interpolate(samples[from + SampledTrajectory.VX], samples[to + SampledTrajectory.VX], fraction);
+            var vy = MathUtil.interpolate(samples[from + SampledTrajectory.VY], samples[to + SampledTrajectory.VY], fraction);
+            var originalSpeed = Math.hypot(vx, vy);
+            var speed = MathUtil.interpolate(speeds[a], speeds[b], fraction);
+            if (originalSpeed > 1E-9) {
+                out[j + SampledTrajectory.VX] = vx / originalSpeed * speed;
+                out[j + SampledTrajectory.VY] = vy / originalSpeed * speed;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * The spline passes exactly through each waypoint, so the closest sample is within one sample
+     * spacing of it. Take the first local minimum that close, so paths that cross themselves
+     * don't match a later pass.
+     */
+    private static int closestSampleAfter(double[] samples, int start, int size, Translation2d target, double sampleSpacing) {
+        var threshold = sampleSpacing + 1E-3;
+        for (int i = start; i < size; i++) {
+            if (distanceTo(samples, i, target) <= threshold) {
+                while (i + 1 < size && distanceTo(samples, i + 1, target) < distanceTo(samples, i, target)) {
+                    i++;
+                }
+                return i;
+            }
+        }
+        throw new IllegalStateException("Trajectory does not pass through waypoint " + target);
+    }
+
+    private static double distanceTo(double[] samples, int index, Translation2d target) {
+        var j = index * SampledTrajectory.STRIDE;
+        return Math.hypot(samples[j + SampledTrajectory.X] - target.getX(), samples[j + SampledTrajectory.Y] - target.getY());
+    }
+
+    /**
+     * Central differences of the heading; the robot starts and ends at rest.
+     */
+    private static void fillAngularVelocities(double[] samples, int size, double dt) {
+        for (int i = 1; i < size - 1; i++) {
+            var before = samples[(i - 1) * SampledTrajectory.STRIDE + SampledTrajectory.THETA];
+            var after = samples[(i + 1) * SampledTrajectory.STRIDE + SampledTrajectory.THETA];
+            samples[i * SampledTrajectory.STRIDE + SampledTrajectory.OMEGA] = MathUtil.angleModulus(after - before) / (2 * dt);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package vv.tuning;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Locale;
+
+import vv.config.PIDConfig;
+import vv.config.PIDConfig.PIDGains;
+
+/**
+ * One candidate set of move gains for a {@link PIDSweep}.
+ */
+public record GainSet(PIDGains translational, PIDGains rotational) {
+
+    public static GainSet of(PIDConfig pid) {
+        return new GainSet(pid.translationalGains(), pid.rotationalGains());
+    }
+
+    /**
+     * @return the config with these gains and its own constraints
+     */
+    public PIDConfig applyTo(PIDConfig pid) {
+        return new PIDConfig(pid.translationalConstraints(), translational, pid.rotationalConstraints(), rotational);
+    }
+
+    /**
+     * Encodes the gains as space-separated numbers, the format sent to sweep workers.
+     */
+    String toLine() {
+        return String.join(" ", encode(translational), encode(rotational));
+    }
+
+    static GainSet fromLine(String line) {
+        var values = line.trim().split("\\s+");
+        if (values.length != 8) {
+            throw new IllegalArgumentException("Expected 8 gains, got: " + line);
+        }
+        return new GainSet(decode(values, 0), decode(values, 4));
+    }
+
+    /**
+     * @return the gains as {@code pid.*} lines for practice-robot.properties
+     */
+    public String toProperties() {
+        return properties("translational", translational) + properties("rotational", rotational);
+    }
+
+    @Override
+    public String toString() {
+        return "translational P=%s I=%s D=%s FF=%s, rotational P=%s I=%s D=%s FF=%s".formatted(
+            format(translational.kP()), format(translational.kI()), format(translational.kD()), format(translational.kFF()),
+            format(rotational.kP()), format(rotational.kI()), format(rotational.kD()), format(rotational.kFF()));
+    }
+
+    private static String properties(String type, PIDGains gains) {
+        var prefix = "pid." + type + ".";
+        return prefix + "kp=" + format(gains.kP()) + "\n"
+            + prefix + "ki=" + format(gains.kI()) + "\n"
+            + prefix + "kd=" + format(gains.kD()) + "\n"
+            + prefix + "kff=" + format(gains.kFF()) + "\n";
+    }
+
+    private static String encode(PIDGains gains) {
+        // Round-trips exactly, unlike format()
+        return String.format(Locale.ROOT, "%s %s %s %s", gains.kP(), gains.kI(), gains.kD(), gains.kFF());
+    }
+
+    private static PIDGains decode(String[] values, int offset) {
+        return new PIDGains(
+            Double.parseDouble(values[offset]),
+            Double.parseDouble(values[offset + 1]),
+            Double.parseDouble(values[offset + 2]),
+            Double.parseDouble(values[offset + 3])
+        );
+    }
+
+    /**
+     * Four significant figures is finer than the sweep can tell apart.
+     */
+    static String format(double value) {
+        if (value == 0) {
+            return "0";
+        }
+        return new BigDecimal(value).round(new MathContext(4)).stripTrailingZeros().toPlainString();
+    }
+}
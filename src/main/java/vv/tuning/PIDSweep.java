@@ -0,0 +1,274 @@
+package vv.tuning;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import vv.config.PIDConfig.PIDGains;
+import vv.config.VVConfig;
+
+/**
+ * Searches for {@code pid.translational.*} and {@code pid.rotational.*} gains by running every
+ * candidate through the same set of {@link vv.commands.MoveRobotRelative} moves on the simulated
+ * drivetrain, then ranks them by settle time, overshoot and final error (see
+ * {@link SweepResult#RANKING}) and prints the best as properties to paste into the config.
+ *
+ * Candidates are spread over {@link SweepWorker} JVMs, one per core by default; each worker takes
+ * the next candidate as soon as it finishes one. The current gains are always candidate 0, so the
+ * ranking shows whether anything beat them.
+ *
+ * Usage: {@code PIDSweep <config> [random <samples> | grid <levels>] [targets] [workers] [seed]}.
+ * Random sampling draws each kP log-uniformly from a quarter to four times its current value, kD
+ * from zero to a tenth of kP and kFF from 0.5 to 1.2. A grid takes {@code levels} evenly spaced
+ * values of each of those over the same ranges, so it has levels^6 candidates: 3 levels by default,
+ * and at most {@value #MAX_GRID_CANDIDATES} candidates. kI stays as it is.
+ */
+public final class PIDSweep {
+    private static final int SHOWN = 10;
+    private static final int DEFAULT_SAMPLES = 256;
+    private static final int DEFAULT_GRID_LEVELS = 3;
+    static final int MAX_GRID_CANDIDATES = 4096;
+
+    private PIDSweep() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: PIDSweep <config> [random <samples> | grid <levels>] [targets] [workers] [seed]");
+            System.exit(1);
+        }
+        var configPath = args[0];
+        var mode = args.length > 1 ? args[1] : "random";
+        var size = args.length > 2 ? Integer.parseInt(args[2]) : mode.equals("grid") ? DEFAULT_GRID_LEVELS : DEFAULT_SAMPLES;
+        var targetCount = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        var workers = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        var seed = args.length > 5 ? Long.parseLong(args[5]) : 4087L;
+
+        var config = VVConfig.readFromText(configPath);
+        var baseline = GainSet.of(config.pid());
+        var random = new Random(seed);
+        List<GainSet> candidates;
+        if (mode.equals("grid")) {
+            candidates = grid(baseline, size);
+        } else if (mode.equals("random")) {
+            candidates = sample(baseline, size, random);
+        } else {
+            throw new IllegalArgumentException("Unknown sweep mode " + mode + ", expected random or grid");
+        }
+        var targets = targets(targetCount, random);
+
+        System.out.println("Sweeping %d gain sets over %d moves each on %d workers".formatted(candidates.size(), targets.size(), workers));
+        var start = System.nanoTime();
+        var results = run(configPath, candidates, targets, Math.max(1, Math.min(workers, candidates.size())));
+        var seconds = (System.nanoTime() - start) / 1E9;
+        System.out.println("Ran %d moves in %.1fs".formatted(candidates.size() * targets.size(), seconds));
+        System.out.println(report(candidates, results));
+    }
+
+    /**
+     * @return the baseline followed by {@code samples} random gain sets around it
+     */
+    static List<GainSet> sample(GainSet baseline, int samples, Random random) {
+        var candidates = new ArrayList<GainSet>();
+        candidates.add(baseline);
+        for (int i = 0; i < samples; i++) {
+            candidates.add(new GainSet(
+                sample(baseline.translational(), random),
+                sample(baseline.rotational(), random)
+            ));
+        }
+        return candidates;
+    }
+
+    private static PIDGains sample(PIDGains base, Random random) {
+        var kP = kPRange(base.kP(), random.nextDouble());
+        return new PIDGains(kP, base.kI(), random.nextDouble() * 0.1 * kP, 0.5 + 0.7 * random.nextDouble());
+    }
+
+    /**
+     * @return the baseline followed by every combination of {@code levels} values per gain
+     */
+    static List<GainSet> grid(GainSet baseline, int levels) {
+        if (levels < 2) {
+            throw new IllegalArgumentException("A grid needs at least 2 levels, got " + levels);
+        }
+        // Checked before building anything: a few levels too many is millions of candidates
+        var candidateCount = Math.pow(levels, 6);
+        if (candidateCount > MAX_GRID_CANDIDATES) {
+            throw new IllegalArgumentException("A %d-level grid has %.0f gain sets, over the limit of %d; use fewer levels or random sampling"
+                .formatted(levels, candidateCount, MAX_GRID_CANDIDATES));
+        }
+        var translational = grid(baseline.translational(), levels);
+        var rotational = grid(baseline.rotational(), levels);
+        var candidates = new ArrayList<GainSet>();
+        candidates.add(baseline);
+        for (var t : translational) {
+            for (var r : rotational) {
+                candidates.add(new GainSet(t, r));
+            }
+        }
+        return candidates;
+    }
+
+    private static List<PIDGains> grid(PIDGains base, int levels) {
+        var gains = new ArrayList<PIDGains>();
+        for (int p = 0; p < levels; p++) {
+            var kP = kPRange(base.kP(), p / (levels - 1.0));
+            for (int d = 0; d < levels; d++) {
+                for (int ff = 0; ff < levels; ff++) {
+                    gains.add(new PIDGains(kP, base.kI(), d / (levels - 1.0) * 0.1 * kP, 0.5 + 0.7 * ff / (levels - 1.0)));
+                }
+            }
+        }
+        return gains;
+    }
+
+    /**
+     * Maps 0..1 log-uniformly onto a quarter to four times the current kP.
+     */
+    private static double kPRange(double kP, double fraction) {
+        var base = kP > 0 ? kP : 1.0;
+        return base * Math.pow(16, fraction) / 4;
+    }
+
+    /**
+     * A straight drive and an on-the-spot turn, then random moves of up to 2m in each direction
+     * combined with up to 90 degrees of turn.
+     */
+    static List<Transform2d> targets(int count, Random random) {
+        var targets = new ArrayList<Transform2d>();
+        targets.add(new Transform2d(1.0, 0.0, Rotation2d.kZero));
+        targets.add(new Transform2d(0.0, 0.0, Rotation2d.fromDegrees(90)));
+        while (targets.size() < count) {
+            targets.add(new Transform2d(
+                4 * random.nextDouble() - 2,
+                4 * random.nextDouble() - 2,
+                Rotation2d.fromDegrees(180 * random.nextDouble() - 90)
+            ));
+        }
+        return targets.subList(0, Math.max(1, count));
+    }
+
+    private static SweepResult[] run(String configPath, List<GainSet> candidates, List<Transform2d> targets, int workers)
+            throws InterruptedException {
+        var queue = new ConcurrentLinkedQueue<Integer>();
+        for (int i = 0; i < candidates.size(); i++) {
+            queue.add(i);
+        }
+        var results = new SweepResult[candidates.size()];
+        var done = new AtomicInteger();
+        var failed = new AtomicInteger();
+        var threads = new ArrayList<Thread>();
+        for (int w = 0; w < workers; w++) {
+            var thread = new Thread(() -> {
+                try {
+                    drive(launchWorker(configPath, targets), queue, candidates, results, done);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Sweep worker failed: " + e);
+                    failed.incrementAndGet();
+                }
+            }, "PIDSweep-" + w);
+            thread.start();
+            threads.add(thread);
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        if (!queue.isEmpty()) {
+            throw new IllegalStateException("%d sweep workers failed with %d gain sets left".formatted(failed.get(), queue.size()));
+        }
+        return results;
+    }
+
+    /**
+     * Feeds one worker candidates from the shared queue until it's empty.
+     */
+    private static void drive(Process process, ConcurrentLinkedQueue<Integer> queue, List<GainSet> candidates,
+            SweepResult[] results, AtomicInteger done) throws IOException {
+        try (var in = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+             var out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            Integer index;
+            while ((index = queue.poll()) != null) {
+                in.write(index + " " + candidates.get(index).toLine());
+                in.newLine();
+                in.flush();
+                String line;
+                while ((line = out.readLine()) != null && !SweepResult.isResult(line)) {
+                    // Robot code logging
+                }
+                if (line == null) {
+                    // Let another worker take it
+                    queue.add(index);
+                    throw new IOException("Worker exited with code " + process.waitFor());
+                }
+                var result = SweepResult.fromLine(line);
+                results[result.index()] = result;
+                var finished = done.incrementAndGet();
+                if (finished % 16 == 0 || finished == candidates.size()) {
+                    System.out.println("  %d/%d gain sets".formatted(finished, candidates.size()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            process.destroy();
+        }
+    }
+
+    private static Process launchWorker(String configPath, List<Transform2d> targets) throws IOException {
+        var java = ProcessHandle.current().info().command().orElse("java");
+        var command = new ArrayList<String>();
+        command.add(java);
+        command.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SweepWorker.class.getName());
+        command.add(configPath);
+        for (var target : targets) {
+            command.add(SweepWorker.formatTarget(target));
+        }
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .start();
+    }
+
+    /**
+     * @return the best gain sets as a table, then the winner as properties
+     */
+    static String report(List<GainSet> candidates, SweepResult[] results) {
+        var ranked = new ArrayList<SweepResult>();
+        for (var result : results) {
+            if (result != null) {
+                ranked.add(result);
+            }
+        }
+        ranked.sort(SweepResult.RANKING);
+        if (ranked.isEmpty()) {
+            return "No results";
+        }
+
+        var report = new StringBuilder();
+        report.append("rank  settle(s)  overshoot(tol)  error(tol)  failed  gains\n");
+        for (int i = 0; i < ranked.size(); i++) {
+            var result = ranked.get(i);
+            // Always show where the current gains came
+            if (i < SHOWN || result.index() == 0) {
+                report.append("%4d  %9.3f  %14.2f  %10.2f  %6d  %s%s\n".formatted(
+                    i + 1, result.settleTime(), result.overshoot(), result.finalError(), result.failures(),
+                    candidates.get(result.index()), result.index() == 0 ? " (current)" : ""));
+            }
+        }
+        var best = ranked.get(0);
+        report.append("\n# Best of %d gain sets from the PID sweep (score %.3f)\n".formatted(ranked.size(), best.score()));
+        report.append(candidates.get(best.index()).toProperties());
+        return report.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package vv.tuning;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * How one {@link GainSet} did over every target move of a sweep. Overshoot and final error are in
+ * multiples of the configured tolerances ({@code pid.*.tolerance}), adding the translational and
+ * rotational parts, so a value under 1 is inside tolerance.
+ *
+ * @param index Position of the gain set in the sweep
+ * @param settleTime Mean time spent converging after the motion profile finished (seconds)
+ * @param overshoot Mean overshoot past the goal along the direction of travel (tolerances)
+ * @param finalError Mean distance from the goal when the move ended (tolerances)
+ * @param failures Moves that didn't reach the goal within the timeout
+ */
+public record SweepResult(int index, double settleTime, double overshoot, double finalError, int failures) {
+
+    /**
+     * Moves that fail rank last; otherwise 0.1s of settle time is worth one tolerance of overshoot or
+     * final error.
+     */
+    public static final Comparator<SweepResult> RANKING = Comparator
+        .comparingInt(SweepResult::failures)
+        .thenComparingDouble(SweepResult::score);
+
+    private static final String PREFIX = "result ";
+
+    public double score() {
+        return settleTime + 0.1 * (overshoot + finalError);
+    }
+
+    String toLine() {
+        return String.format(Locale.ROOT, "%s%d %s %s %s %d", PREFIX, index, settleTime, overshoot, finalError, failures);
+    }
+
+    /**
+     * @return whether the worker output line is a result rather than something else the robot code printed
+     */
+    static boolean isResult(String line) {
+        return line.startsWith(PREFIX);
+    }
+
+    static SweepResult fromLine(String line) {
+        var values = line.substring(PREFIX.length()).trim().split("\\s+");
+        return new SweepResult(
+            Integer.parseInt(values[0]),
+            Double.parseDouble(values[1]),
+            Double.parseDouble(values[2]),
+            Double.parseDouble(values[3]),
+            Integer.parseInt(values[4])
+        );
+    }
+}
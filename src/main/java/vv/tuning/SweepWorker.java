@@ -0,0 +1,205 @@
+package vv.tuning;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.commands.MoveRobotRelative;
+import vv.config.PIDConfig;
+import vv.config.VVConfig;
+import vv.sims.LockstepSimulation;
+import vv.sims.SimCheckpoint;
+import vv.subsystems.drivetrain.DrivetrainFactory;
+import vv.subsystems.drivetrain.DrivetrainSubsystem;
+
+/**
+ * Scores gain sets for a {@link PIDSweep} by running {@link MoveRobotRelative} on the lockstep
+ * drivetrain simulation. HAL is process-global, so each worker is its own JVM with one drivetrain,
+ * and the sweep runs one worker per core. Every gain set starts from the drivetrain's state when
+ * the worker was created, so its score doesn't depend on which worker ran it or what ran before.
+ *
+ * Usage: {@code SweepWorker <config> <target>...}, each target being {@code x:y:degrees}. Gain sets
+ * are read from stdin one per line ({@link GainSet#toLine()} prefixed with its index), and a result
+ * line is printed for each.
+ */
+public final class SweepWorker {
+    /** How long a move may keep converging after its profile has finished before it counts as failed */
+    static final double SETTLE_TIMEOUT_SECONDS = 3.0;
+    /** Time given to the robot to come to rest between moves */
+    private static final double REST_SECONDS = 1.0;
+
+    private final VVConfig config;
+    private final PIDConfig basePid;
+    private final DrivetrainSubsystem drivetrain;
+    private final List<Transform2d> targets;
+    private final double period;
+    private final SimCheckpoint start;
+
+    /**
+     * @param drivetrain A registered drivetrain running on the lockstep simulation, at rest at the pose
+     * every gain set should start from
+     */
+    public SweepWorker(VVConfig config, DrivetrainSubsystem drivetrain, List<Transform2d> targets) {
+        this.config = config;
+        this.basePid = config.pid();
+        this.drivetrain = drivetrain;
+        this.targets = List.copyOf(targets);
+        this.period = config.simulation().simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
+        this.start = SimCheckpoint.capture(drivetrain);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: SweepWorker <config> <x:y:degrees>...");
+            System.exit(1);
+        }
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("HAL initialization failed");
+        }
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+        DriverStation.silenceJoystickConnectionWarning(true);
+        SimHooks.setProgramStarted();
+        LockstepSimulation.enable();
+
+        var config = VVConfig.readFromPath(args[0]);
+        var targets = new ArrayList<Transform2d>();
+        for (int i = 1; i < args.length; i++) {
+            targets.add(parseTarget(args[i]));
+        }
+        var drivetrain = DrivetrainFactory.createDrivetrain(config);
+        drivetrain.register();
+        var worker = new SweepWorker(config, drivetrain, targets);
+
+        var reader = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            var split = line.indexOf(' ');
+            var index = Integer.parseInt(line.substring(0, split));
+            var result = worker.evaluate(index, GainSet.fromLine(line.substring(split + 1)));
+            System.out.println(result.toLine());
+            System.out.flush();
+        }
+        // Notifiers and Phoenix threads would otherwise keep the JVM alive
+        System.exit(0);
+    }
+
+    /**
+     * Puts the drivetrain back to its starting state, then runs every target move with the gains,
+     * each starting from wherever the last one stopped.
+     */
+    public SweepResult evaluate(int index, GainSet gains) {
+        start.restore();
+        config.replacePid(gains.applyTo(basePid));
+        var translationTolerance = basePid.translationalConstraints().tolerance();
+        var rotationTolerance = basePid.rotationalConstraints().tolerance();
+
+        double settle = 0;
+        double overshoot = 0;
+        double finalError = 0;
+        var failures = 0;
+        for (var target : targets) {
+            var move = runMove(target);
+            settle += move.settleTime;
+            overshoot += move.translationOvershoot / translationTolerance + move.rotationOvershoot / rotationTolerance;
+            finalError += move.translationError / translationTolerance + move.rotationError / rotationTolerance;
+            if (move.failed) {
+                failures++;
+            }
+        }
+        config.replacePid(basePid);
+        var n = targets.size();
+        return new SweepResult(index, settle / n, overshoot / n, finalError / n, failures);
+    }
+
+    private MoveOutcome runMove(Transform2d transform) {
+        var scheduler = CommandScheduler.getInstance();
+        var start = drivetrain.getSnapshot().pose();
+        var goal = start.plus(transform);
+        var travel = goal.getTranslation().minus(start.getTranslation());
+        var distance = travel.getNorm();
+        var turn = Math.signum(MathUtil.angleModulus(transform.getRotation().getRadians()));
+
+        var move = new MoveRobotRelative(config, drivetrain, transform);
+        // schedule() initializes the move straight away, so the profile time is known
+        scheduler.schedule(move);
+        var maxSteps = (long) Math.ceil((move.getProfileTime() + SETTLE_TIMEOUT_SECONDS) / period);
+
+        var outcome = new MoveOutcome();
+        for (long i = 0; i < maxSteps && scheduler.isScheduled(move); i++) {
+            LockstepSimulation.step(period);
+            var pose = drivetrain.getSnapshot().pose();
+            if (distance > 1E-6) {
+                // Distance past the goal along the direction of travel
+                var past = (pose.getX() - goal.getX()) * travel.getX() + (pose.getY() - goal.getY()) * travel.getY();
+                outcome.translationOvershoot = Math.max(outcome.translationOvershoot, past / distance);
+            }
+            var headingPast = turn * headingError(pose, goal);
+            outcome.rotationOvershoot = Math.max(outcome.rotationOvershoot, headingPast);
+        }
+        if (scheduler.isScheduled(move)) {
+            scheduler.cancel(move);
+            outcome.failed = true;
+            outcome.settleTime = SETTLE_TIMEOUT_SECONDS;
+        } else {
+            outcome.settleTime = move.getSettleTime();
+        }
+
+        var end = drivetrain.getSnapshot().pose();
+        outcome.translationError = end.getTranslation().getDistance(goal.getTranslation());
+        outcome.rotationError = Math.abs(headingError(end, goal));
+        rest();
+        return outcome;
+    }
+
+    private void rest() {
+        drivetrain.stop();
+        var steps = (long) Math.ceil(REST_SECONDS / period);
+        for (long i = 0; i < steps; i++) {
+            LockstepSimulation.step(period);
+        }
+    }
+
+    private static double headingError(Pose2d pose, Pose2d goal) {
+        return MathUtil.angleModulus(pose.getRotation().getRadians() - goal.getRotation().getRadians());
+    }
+
+    static String formatTarget(Transform2d target) {
+        return String.format(Locale.ROOT, "%s:%s:%s", target.getX(), target.getY(), target.getRotation().getDegrees());
+    }
+
+    static Transform2d parseTarget(String arg) {
+        var values = arg.split(":");
+        if (values.length != 3) {
+            throw new IllegalArgumentException("Expected a target as x:y:degrees, got: " + arg);
+        }
+        return new Transform2d(
+            Double.parseDouble(values[0]),
+            Double.parseDouble(values[1]),
+            Rotation2d.fromDegrees(Double.parseDouble(values[2]))
+        );
+    }
+
+    private static final class MoveOutcome {
+        double settleTime;
+        double translationOvershoot;
+        double rotationOvershoot;
+        double translationError;
+        double rotationError;
+        boolean failed;
+    }
+}
@@ -0,0 +1,68 @@
+package vv.boot;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BootOrchestratorTests {
+
+    @Test
+    void independentPhasesRunConcurrently() {
+        // Arrange - each phase waits for the other to start, so this only finishes if they overlap
+        var bothStarted = new CountDownLatch(2);
+        try (var boot = new BootOrchestrator(2)) {
+            // Act
+            var a = boot.inBackground("a", () -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            });
+            var b = boot.inBackground("b", () -> {
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            });
+
+            // Assert
+            assertTrue(a.join(), "Phase a never saw phase b start");
+            assertTrue(b.join(), "Phase b never saw phase a start");
+        }
+    }
+
+    @Test
+    void dependentPhasesSeeTheirDependencies() {
+        try (var boot = new BootOrchestrator(2)) {
+            // Act
+            var config = boot.inBackground("config", () -> 2);
+            var doubled = boot.inBackground("doubled", () -> config.join() * 2, config);
+            var main = boot.onMainThread("main", () -> doubled.join() + 1, doubled);
+
+            // Assert
+            assertEquals(5, main.join());
+            assertTrue(main.isMainThread());
+            assertTrue(boot.report().contains("doubled"));
+        }
+    }
+
+    @Test
+    void failuresPropagateToDependents() {
+        try (var boot = new BootOrchestrator(2)) {
+            // Arrange
+            var failure = new IllegalStateException("no CAN bus");
+            var devices = boot.inBackground("devices", () -> {
+                throw failure;
+            });
+
+            // Act
+            var dependent = boot.inBackground("dependent", () -> "never runs", devices);
+
+            // Assert
+            assertSame(failure, assertThrows(IllegalStateException.class, dependent::join));
+            assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> boot.onMainThread("main", () -> "never runs", devices)));
+        }
+    }
+}
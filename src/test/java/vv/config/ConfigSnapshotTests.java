@@ -0,0 +1,84 @@
+package vv.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigSnapshotTests {
+    private static final Path TEST_CONFIG = Path.of("./src/test/resources/test.properties");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void snapshotLoadsSameConfigAsText() throws IOException {
+        // Arrange
+        var source = dir.resolve("test.properties");
+        Files.copy(TEST_CONFIG, source);
+
+        // Act
+        ConfigCompiler.compile(source);
+        var fromSnapshot = VVConfig.readFromPath(source.toString());
+        var fromText = VVConfig.readFromText(source.toString());
+
+        // Assert
+        assertInstanceOf(CompiledProperties.class, ConfigSnapshot.read(source).orElseThrow());
+        assertEquals(fromText.pid(), fromSnapshot.pid());
+        assertEquals(fromText.roller(), fromSnapshot.roller());
+        assertEquals(fromText.controllers(), fromSnapshot.controllers());
+        assertEquals(fromText.simulation(), fromSnapshot.simulation());
+        assertEquals(fromText.drivetrain().poseHistoryCapacity(), fromSnapshot.drivetrain().poseHistoryCapacity());
+    }
+
+    @Test
+    void staleSnapshotFallsBackToText() throws IOException {
+        // Arrange
+        var source = dir.resolve("test.properties");
+        Files.copy(TEST_CONFIG, source);
+        ConfigCompiler.compile(source);
+
+        // Act - edit the text after compiling
+        Files.writeString(source, "\nroller.output.refresh.s=2.5\n", StandardOpenOption.APPEND);
+
+        // Assert
+        assertTrue(ConfigSnapshot.read(source).isEmpty());
+        assertEquals(2.5, VVConfig.readFromPath(source.toString()).roller().outputRefreshSeconds());
+    }
+
+    @Test
+    void sameSizeEditFallsBackToText() throws IOException {
+        // Arrange
+        var source = dir.resolve("test.properties");
+        Files.copy(TEST_CONFIG, source);
+        ConfigCompiler.compile(source);
+        var compiled = Files.getLastModifiedTime(ConfigSnapshot.snapshotPath(source)).toMillis();
+
+        // Act - change a digit a minute later, keeping the size
+        Files.writeString(source, Files.readString(source).replace("roller.output.refresh.s=1.0", "roller.output.refresh.s=2.0"));
+        Files.setLastModifiedTime(source, FileTime.fromMillis(compiled + 60_000));
+
+        // Assert
+        assertTrue(ConfigSnapshot.read(source).isEmpty());
+        assertEquals(2.0, VVConfig.readFromPath(source.toString()).roller().outputRefreshSeconds());
+    }
+
+    @Test
+    void compileRejectsInvalidConfig() throws IOException {
+        // Arrange
+        var source = dir.resolve("broken.properties");
+        Files.writeString(source, Files.readString(TEST_CONFIG).replace("roller.led.fps=", "roller.led.frames="));
+
+        // Act / Assert
+        assertThrows(NullPointerException.class, () -> ConfigCompiler.compile(source));
+        assertTrue(Files.notExists(ConfigSnapshot.snapshotPath(source)));
+    }
+}
@@ -0,0 +1,59 @@
+package vv.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PIDConfigWatcherTests {
+    private static final Path TEST_CONFIG = Path.of("./src/test/resources/test.properties");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reloadsEditedGains() throws Exception {
+        // Arrange
+        var source = dir.resolve("test.properties");
+        Files.copy(TEST_CONFIG, source);
+        var config = VVConfig.readFromText(source.toString());
+        var original = config.pid();
+
+        try (var watcher = PIDConfigWatcher.start(config)) {
+            // Act
+            Files.writeString(source, Files.readString(TEST_CONFIG).replace("pid.translational.kp=3", "pid.translational.kp=4.5"));
+
+            // Assert - new gains are swapped in; everything else is untouched
+            await().atMost(Duration.ofSeconds(15)).until(() -> config.pid() != original);
+            assertEquals(4.5, config.pid().translationalGains().kP());
+            assertEquals(original.rotationalGains(), config.pid().rotationalGains());
+        }
+    }
+
+    @Test
+    void keepsGainsWhenFileIsInvalid() throws Exception {
+        // Arrange
+        var source = dir.resolve("test.properties");
+        Files.copy(TEST_CONFIG, source);
+        var config = VVConfig.readFromText(source.toString());
+        var original = config.pid();
+
+        try (var watcher = PIDConfigWatcher.start(config)) {
+            // Act - a broken edit, then a good one
+            Files.writeString(source, Files.readString(TEST_CONFIG).replace("pid.translational.kp=3", "pid.translational.kp=three"));
+            await().atMost(Duration.ofSeconds(15)).until(() -> watcher.rejectedReloads() > 0);
+            assertSame(original, config.pid());
+
+            Files.writeString(source, Files.readString(TEST_CONFIG).replace("pid.rotational.kp=3", "pid.rotational.kp=2"));
+
+            // Assert
+            await().atMost(Duration.ofSeconds(15)).until(() -> config.pid() != original);
+            assertEquals(2.0, config.pid().rotationalGains().kP());
+        }
+    }
+}
@@ -1,37 +1,51 @@
 package vv.controls;
 
-import java.util.concurrent.TimeUnit;
-
-import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static edu.wpi.first.units.Units.MetersPerSecond;
-import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.sims.SimCheckpoint;
 import vv.subsystems.drivetrain.DrivetrainFactory;
 import vv.subsystems.drivetrain.DrivetrainSubsystem;
 import static vv.utils.TestSetup.CONFIG;
 import static vv.utils.TestSetup.ROTATIONAL_VELOCITY_TEST_TOLERANCE_RAD_PER_SEC;
 import static vv.utils.TestSetup.VELOCITY_TEST_TOLERANCE_MPS;
+import static vv.utils.TestSetup.allocatedBytesPerCall;
 import static vv.utils.TestSetup.resetSimulationState;
+import static vv.utils.TestSetup.restoreSimulationState;
+import static vv.utils.TestSetup.runUntil;
 
 public class DriverControlsTests {
     
-    DrivetrainSubsystem drivetrain;
+    static DrivetrainSubsystem drivetrain;
+    static SimCheckpoint checkpoint;
     DriverControls driverControls;
 
-    @BeforeEach
-    @SuppressWarnings("unused")
-    void beforeEach() {
+    @BeforeAll
+    static void beforeAll() {
         resetSimulationState();
         drivetrain = DrivetrainFactory.createDrivetrain(CONFIG);
         drivetrain.register();
+        checkpoint = SimCheckpoint.capture(drivetrain);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void beforeEach() {
+        restoreSimulationState(checkpoint);
         driverControls = new DriverControls(CONFIG.controllers());
         driverControls.setupTriggers(CONFIG, drivetrain);
     }
 
+    @AfterAll
+    static void afterAll() {
+        drivetrain.close();
+    }
+
     @Test
     void verifySimControllerRelationship() {
         // Arrange
@@ -68,13 +82,33 @@ public class DriverControlsTests {
 
         // Assert - No Movement
         assertEquals("DriveWithController", drivetrain.getDefaultCommand().getName());
-        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            CommandScheduler.getInstance().run();
+        runUntil(() -> {
             var speeds = drivetrain.getState().Speeds;
-            assertTrue(speeds.vxMetersPerSecond >= expectedVx, "X speed should be past deadband");
-            assertEquals(0, speeds.vyMetersPerSecond, VELOCITY_TEST_TOLERANCE_MPS, "Y speed should be zero because of deadband");
-            assertEquals(0, speeds.omegaRadiansPerSecond, ROTATIONAL_VELOCITY_TEST_TOLERANCE_RAD_PER_SEC, "Angular speed should be zero because no stick input");
+            return speeds.vxMetersPerSecond >= expectedVx
+                && Math.abs(speeds.vyMetersPerSecond) <= VELOCITY_TEST_TOLERANCE_MPS
+                && Math.abs(speeds.omegaRadiansPerSecond) <= ROTATIONAL_VELOCITY_TEST_TOLERANCE_RAD_PER_SEC;
+        }, 1.0);
+        var speeds = drivetrain.getState().Speeds;
+        assertTrue(speeds.vxMetersPerSecond >= expectedVx, "X speed should be past deadband");
+        assertEquals(0, speeds.vyMetersPerSecond, VELOCITY_TEST_TOLERANCE_MPS, "Y speed should be zero because of deadband");
+        assertEquals(0, speeds.omegaRadiansPerSecond, ROTATIONAL_VELOCITY_TEST_TOLERANCE_RAD_PER_SEC, "Angular speed should be zero because no stick input");
+    }
+
+    @Test
+    void defaultCommandDoesNotAllocate() {
+        // Arrange
+        var defaultCommand = drivetrain.getDefaultCommand();
+        driverControls.simulate((controller) -> {
+            controller.setLeftY(-0.5);
+            controller.setLeftX(0.25);
+            controller.setRightX(0.5);
         });
+
+        // Act
+        var bytesPerTick = allocatedBytesPerCall(defaultCommand::execute, 20_000, 10_000);
+
+        // Assert
+        assertEquals(0, bytesPerTick, "Teleop default command should not allocate once warmed up");
     }
 
 }
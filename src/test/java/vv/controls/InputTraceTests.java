@@ -0,0 +1,101 @@
+package vv.controls;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.subsystems.roller.RollerSubsystem;
+import static vv.utils.TestSetup.CONFIG;
+import static vv.utils.TestSetup.resetSimulationState;
+
+public class InputTraceTests {
+
+    @TempDir
+    Path dir;
+
+    RollerSubsystem roller;
+    DriverControls driverControls;
+    OperatorControls operatorControls;
+
+    @BeforeEach
+    void beforeEach() {
+        resetSimulationState();
+        roller = new RollerSubsystem(CONFIG);
+        driverControls = new DriverControls(CONFIG.controllers());
+        operatorControls = new OperatorControls(CONFIG.controllers());
+        operatorControls.setupTriggers(driverControls, roller);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        roller.close();
+    }
+
+    @Test
+    void recordedInputsSurviveARoundTrip() throws IOException {
+        // Arrange - three loops of inputs on both controllers
+        var recorder = new InputRecorder(
+            CONFIG.controllers().driver().port(), CONFIG.controllers().operator().port());
+        driverControls.simulate(c -> c.setLeftY(-0.5));
+        operatorControls.simulate(c -> c.setRightBumperButton(true));
+        CommandScheduler.getInstance().run();
+        recorder.sample();
+        driverControls.simulate(c -> {
+            c.setLeftY(0.25);
+            c.setPOV(90);
+        });
+        CommandScheduler.getInstance().run();
+        recorder.sample();
+        operatorControls.simulate(c -> c.setRightBumperButton(false));
+        CommandScheduler.getInstance().run();
+        recorder.sample();
+
+        // Act
+        var path = dir.resolve("session" + InputTrace.EXTENSION);
+        recorder.trace().write(path);
+        var trace = InputTrace.read(path);
+
+        // Assert
+        assertEquals(2, trace.controllers());
+        assertEquals(3, trace.frameCount());
+        assertEquals(-0.5, trace.axis(0, 0, 1), 1E-4);
+        assertEquals(0.25, trace.axis(1, 0, 1), 1E-4);
+        assertEquals(90, trace.pov(1, 0));
+        assertTrue(trace.button(0, 1, 6), "Right bumper is button 6");
+        assertFalse(trace.button(2, 1, 6));
+    }
+
+    @Test
+    void replayDrivesTheSameBehaviour() throws IOException {
+        // Arrange - record an operator holding the right bumper for two loops
+        var recorder = new InputRecorder(
+            CONFIG.controllers().driver().port(), CONFIG.controllers().operator().port());
+        operatorControls.simulate(c -> c.setRightBumperButton(true));
+        recorder.sample();
+        recorder.sample();
+        operatorControls.simulate(c -> c.setRightBumperButton(false));
+        recorder.sample();
+        // The scheduler never ran while recording, so the bumper trigger hasn't seen a press yet
+        var trace = recorder.trace();
+        var replayer = new InputReplayer(trace, driverControls.sim(), operatorControls.sim());
+
+        // Act / Assert
+        assertTrue(replayer.step());
+        CommandScheduler.getInstance().run();
+        assertEquals(RollerSubsystem.RollerState.OUTPUTTING, roller.getState());
+        assertTrue(replayer.step());
+        CommandScheduler.getInstance().run();
+        assertTrue(replayer.step());
+        CommandScheduler.getInstance().run();
+        assertEquals(RollerSubsystem.RollerState.IDLING, roller.getState());
+        assertFalse(replayer.step(), "Trace should be exhausted");
+    }
+}
@@ -0,0 +1,128 @@
+package vv.devices;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.signals.InvertedValue;
+
+import vv.devices.DeviceConfigurator.Entry;
+import vv.devices.DeviceConfigurator.Outcome;
+
+public class DeviceConfiguratorTests {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * A device that reports whatever config was last applied to it.
+     */
+    private static final class FakeDevice {
+        String current;
+        final AtomicInteger applies = new AtomicInteger();
+
+        FakeDevice(String current) {
+            this.current = current;
+        }
+
+        Entry entry(String key, String intended) {
+            return new Entry(key, intended, () -> current.equals(intended), () -> {
+                applies.incrementAndGet();
+                current = intended;
+                return StatusCode.OK;
+            });
+        }
+    }
+
+    @Test
+    void onlyAppliesChangedConfigs() {
+        // Arrange
+        var unchanged = new FakeDevice("a=1");
+        var changed = new FakeDevice("a=1");
+        var configurator = new DeviceConfigurator(dir.resolve("cache.properties"), false);
+        configurator.add(unchanged.entry("unchanged", "a=1"));
+        configurator.add(changed.entry("changed", "a=2"));
+
+        // Act
+        var report = configurator.applyAll(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(0, unchanged.applies.get());
+        assertEquals(1, changed.applies.get());
+        assertEquals(1, report.count(Outcome.MATCHED));
+        assertEquals(1, report.count(Outcome.APPLIED));
+    }
+
+    @Test
+    void trustedCacheSkipsReadBack() {
+        // Arrange - first boot applies and caches the fingerprint
+        var cache = dir.resolve("cache.properties");
+        var device = new FakeDevice("a=1");
+        var first = new DeviceConfigurator(cache, true);
+        first.add(device.entry("device", "a=2"));
+        first.applyAll(Duration.ofSeconds(5));
+
+        // Act - second boot, with a read-back that would fail if it were used
+        var second = new DeviceConfigurator(cache, true);
+        second.add(new Entry("device", "a=2", () -> false, () -> StatusCode.EcuIsNotPresent));
+        var report = second.applyAll(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(1, device.applies.get());
+        assertEquals(1, report.count(Outcome.CACHED));
+        assertEquals(1, report.results().size());
+    }
+
+    @Test
+    void readBackComparesFieldsWithinTolerance() {
+        // Arrange - as if the device stored the limit in single precision
+        var intended = new TalonFXConfiguration();
+        intended.CurrentLimits.StatorCurrentLimit = 37.3;
+        var roundTripped = new TalonFXConfiguration();
+        roundTripped.CurrentLimits.StatorCurrentLimit = (float) 37.3;
+        var changedLimit = new TalonFXConfiguration();
+        changedLimit.CurrentLimits.StatorCurrentLimit = 38.0;
+        var changedInversion = new TalonFXConfiguration();
+        changedInversion.CurrentLimits.StatorCurrentLimit = 37.3;
+        changedInversion.MotorOutput.Inverted = InvertedValue.Clockwise_Positive;
+
+        // Act / Assert
+        assertTrue(DeviceConfigurator.sameConfig(intended, roundTripped));
+        assertFalse(DeviceConfigurator.sameConfig(intended, changedLimit));
+        assertFalse(DeviceConfigurator.sameConfig(intended, changedInversion));
+    }
+
+    @Test
+    void reportsDevicesOverBudgetAsTimedOut() throws InterruptedException {
+        // Arrange
+        var release = new CountDownLatch(1);
+        var configurator = new DeviceConfigurator(dir.resolve("cache.properties"), false);
+        configurator.add(new Entry("slow", "a=1", () -> false, () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return StatusCode.OK;
+        }));
+        configurator.add(new Entry("failing", "a=1", () -> false, () -> StatusCode.EcuIsNotPresent));
+
+        // Act
+        var report = configurator.applyAll(Duration.ofMillis(100));
+        release.countDown();
+
+        // Assert
+        assertEquals(1, report.count(Outcome.TIMED_OUT));
+        assertEquals(1, report.count(Outcome.FAILED));
+    }
+}
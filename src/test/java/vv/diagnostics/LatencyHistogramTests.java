@@ -0,0 +1,42 @@
+package vv.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class LatencyHistogramTests {
+
+    @Test
+    void bucketsAreContiguousAndWithinTolerance() {
+        var previous = -1;
+        for (long micros = 0; micros < 1_000_000; micros++) {
+            var index = LatencyHistogram.bucketIndex(micros);
+            assertTrue(index == previous || index == previous + 1, "Bucket gap at " + micros + "us");
+            var midpoint = LatencyHistogram.bucketMidpointMicros(index);
+            assertTrue(Math.abs(midpoint - micros) <= Math.max(1, micros * 0.07), "Bucket too wide at " + micros + "us");
+            previous = index;
+        }
+    }
+
+    @Test
+    void reportsQuantilesAndResets() {
+        // Arrange - 1..100 ms, one sample each
+        var histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+
+        // Assert
+        assertEquals(100, histogram.count());
+        assertEquals(50.0, histogram.quantileMillis(0.50), 50.0 * 0.07);
+        assertEquals(99.0, histogram.quantileMillis(0.99), 99.0 * 0.07);
+        assertEquals(100.0, histogram.maxMillis(), 1E-9);
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0.0, histogram.quantileMillis(0.99));
+    }
+}
@@ -0,0 +1,57 @@
+package vv.replay;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import vv.replay.RecordedMatch.CommandEvent;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class DivergenceReportTests {
+
+    @Test
+    void measuresPoseError() {
+        // Arrange
+        var report = new DivergenceReport();
+
+        // Act
+        report.pose(0.0, new Pose2d(0, 0, Rotation2d.kZero), new Pose2d(0, 0, Rotation2d.kZero));
+        report.pose(1.0, new Pose2d(1, 0, Rotation2d.fromDegrees(179)), new Pose2d(1, 0.2, Rotation2d.fromDegrees(-179)));
+
+        // Assert
+        assertEquals(0.2, report.maxTranslationError(), 1E-9);
+        assertEquals(Math.sqrt(0.04 / 2), report.rmsTranslationError(), 1E-9);
+        assertEquals(2.0, report.maxHeadingErrorDeg(), 1E-9, "Heading error should wrap through 180 degrees");
+    }
+
+    @Test
+    void findsFirstCommandMismatch() {
+        // Arrange
+        var recorded = List.of(
+            new CommandEvent(1.0, "+DriveWithController"),
+            new CommandEvent(2.0, "+Output"),
+            new CommandEvent(3.0, "-Output")
+        );
+        var matching = new DivergenceReport();
+        var diverged = new DivergenceReport();
+
+        // Act
+        matching.command(1.02, "+DriveWithController");
+        matching.command(2.0, "+Output");
+        matching.command(3.04, "-Output");
+        diverged.command(1.0, "+DriveWithController");
+        diverged.command(2.0, "+Intake");
+
+        // Assert
+        assertEquals(-1, matching.firstCommandMismatch(recorded));
+        assertTrue(matching.summary(recorded).contains("3 events match"));
+        assertEquals(1, diverged.firstCommandMismatch(recorded));
+        assertTrue(diverged.summary(recorded).contains("'+Intake' at 2.00s"));
+    }
+}
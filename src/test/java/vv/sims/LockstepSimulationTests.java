@@ -0,0 +1,53 @@
+package vv.sims;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import vv.commands.MoveRobotRelative;
+import vv.subsystems.drivetrain.DrivetrainFactory;
+import static vv.utils.TestSetup.CONFIG;
+import static vv.utils.TestSetup.isFinished;
+import static vv.utils.TestSetup.maxSimulationTime;
+import static vv.utils.TestSetup.resetSimulationState;
+import static vv.utils.TestSetup.runUntil;
+
+public class LockstepSimulationTests {
+
+    @Test
+    void sameMoveGivesTheSamePose() {
+        // Arrange
+        var move = new Transform2d(2.0, 1.0, Rotation2d.kCW_90deg);
+
+        // Act
+        var first = runMove(move);
+        var second = runMove(move);
+
+        // Assert - Pose2d.equals allows 1E-9 for floating point, far below any odometry lag
+        assertEquals(first, second, "Odometry should consume every step the same way");
+    }
+
+    /**
+     * @return where the move ended, relative to where it started
+     */
+    private static Pose2d runMove(Transform2d move) {
+        resetSimulationState();
+        var drivetrain = DrivetrainFactory.createDrivetrain(CONFIG);
+        try {
+            drivetrain.register();
+            // One step so the new drivetrain's odometry has sampled its devices before the move starts
+            runUntil(() -> true, 1.0);
+            var start = drivetrain.getState().Pose;
+            var cmd = new MoveRobotRelative(CONFIG, drivetrain, move);
+            CommandScheduler.getInstance().schedule(cmd);
+            assertTrue(runUntil(() -> isFinished(cmd), maxSimulationTime(3)), "Move did not finish in time");
+            return drivetrain.getState().Pose.relativeTo(start);
+        } finally {
+            drivetrain.close();
+        }
+    }
+}
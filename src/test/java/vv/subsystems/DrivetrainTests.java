@@ -1,10 +1,13 @@
 package vv.subsystems;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
-import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -14,29 +17,50 @@ import com.ctre.phoenix6.swerve.SwerveRequest;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import edu.wpi.first.wpilibj2.command.Commands;
+import vv.commands.FollowWaypoints;
 import vv.commands.MoveRobotRelative;
+import vv.sims.SimCheckpoint;
 import vv.subsystems.drivetrain.DrivetrainFactory;
 import vv.subsystems.drivetrain.DrivetrainSubsystem;
 import static vv.utils.TestSetup.CONFIG;
 import static vv.utils.TestSetup.POSITION_TEST_TOLERANCE;
 import static vv.utils.TestSetup.ROTATIONAL_TEST_TOLERANCE_DEG;
+import static vv.utils.TestSetup.allocatedBytesPerCall;
+import static vv.utils.TestSetup.calculateTrapezoidTime;
 import static vv.utils.TestSetup.isFinished;
 import static vv.utils.TestSetup.maxSimulationTime;
 import static vv.utils.TestSetup.resetSimulationState;
+import static vv.utils.TestSetup.restoreSimulationState;
+import static vv.utils.TestSetup.runUntil;
 
 public class DrivetrainTests {
 
-    DrivetrainSubsystem drivetrain;
+    // Built once; each test starts from the checkpoint instead of a new drivetrain
+    static DrivetrainSubsystem drivetrain;
+    static SimCheckpoint checkpoint;
 
-    @BeforeEach
-    @SuppressWarnings("unused")
-    void beforeEach() {
+    @BeforeAll
+    static void beforeAll() {
         resetSimulationState();
         drivetrain = DrivetrainFactory.createDrivetrain(CONFIG);
         drivetrain.register();
+        checkpoint = SimCheckpoint.capture(drivetrain);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void beforeEach() {
+        restoreSimulationState(checkpoint);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        drivetrain.close();
     }
 
     @Test
@@ -50,6 +74,28 @@ public class DrivetrainTests {
         assertEquals(0, drivetrain.getState().Pose.getRotation().getRadians(), "Initial rotation should be 0");
     }
 
+    @Test
+    void discretizeMatchesWPILib() {
+        var speeds = new ChassisSpeeds();
+        double[][] cases = {{1.0, 0.0, 0.0}, {1.5, -0.5, 2.0}, {0.0, 0.0, -3.0}, {-2.0, 1.0, 1E-7}};
+        for (var c : cases) {
+            var expected = ChassisSpeeds.discretize(c[0], c[1], c[2], 0.02);
+            DrivetrainSubsystem.discretize(speeds, c[0], c[1], c[2], 0.02);
+            assertEquals(expected.vxMetersPerSecond, speeds.vxMetersPerSecond, 1E-9);
+            assertEquals(expected.vyMetersPerSecond, speeds.vyMetersPerSecond, 1E-9);
+            assertEquals(expected.omegaRadiansPerSecond, speeds.omegaRadiansPerSecond, 1E-9);
+        }
+    }
+
+    @Test
+    void drivePathDoesNotAllocate() {
+        assertEquals(0, allocatedBytesPerCall(() -> drivetrain.driveFieldRelative(1.0, 0.5, 0.25), 20_000, 10_000),
+            "driveFieldRelative should not allocate once warmed up");
+        assertEquals(0, allocatedBytesPerCall(() -> drivetrain.driveRobotRelative(1.0, 0.5, 0.25), 20_000, 10_000),
+            "driveRobotRelative should not allocate once warmed up");
+        drivetrain.stop();
+    }
+
     @Test
     @Disabled
     /**
@@ -73,10 +119,7 @@ public class DrivetrainTests {
         // Act
         drivetrain.logPose();
         CommandScheduler.getInstance().schedule(cmd);
-        await().atMost(maxSimulationTime(targetDistance), TimeUnit.SECONDS).until(() -> {
-            CommandScheduler.getInstance().run();
-            return isFinished(cmd);
-        });
+        assertTrue(runUntil(() -> isFinished(cmd), maxSimulationTime(targetDistance)), "Command did not finish in time");
         drivetrain.logPose();
 
         // Assert
@@ -111,17 +154,11 @@ public class DrivetrainTests {
 
         // Act
         CommandScheduler.getInstance().schedule(cmd);
-        try {
-            await().atMost(maxSimulationTime(targetDistance), TimeUnit.SECONDS).until(() -> {
-                CommandScheduler.getInstance().run();
-                return isFinished(cmd);
-            });
-        } catch (Exception e) {
-            System.err.println("Command did not finish in time: " + e.getMessage());
-        } finally {
-            System.out.println("=== Final Pose ===");
-            drivetrain.logPose();
+        if (!runUntil(() -> isFinished(cmd), maxSimulationTime(targetDistance))) {
+            System.err.println("Command did not finish in time");
         }
+        System.out.println("=== Final Pose ===");
+        drivetrain.logPose();
 
         // Assert
         double finalX = drivetrain.getState().Pose.getMeasureX().baseUnitMagnitude();
@@ -135,6 +172,51 @@ public class DrivetrainTests {
         assertEquals(startRotation, finalRotation, ROTATIONAL_TEST_TOLERANCE_DEG, "Should not have rotated");    
     }
 
+    @Test
+    void testHighRateMoveForward() {
+        // Arrange
+        double targetDistance = 3;
+        var move = new Transform2d(new Translation2d(targetDistance, 0), Rotation2d.kZero);
+        var cmd = MoveRobotRelative.atHighRate(CONFIG, drivetrain, move);
+
+        // Act
+        CommandScheduler.getInstance().schedule(cmd);
+        var finished = runUntil(() -> isFinished(cmd), maxSimulationTime((long) targetDistance));
+
+        // Assert
+        assertTrue(finished, "Command did not finish in time");
+        assertFalse(drivetrain.isHighRateControlRunning(), "Control loop should have stopped");
+        assertEquals(targetDistance, drivetrain.getState().Pose.getX(), POSITION_TEST_TOLERANCE, "Didn't move far enough in X");
+        assertEquals(0, drivetrain.getState().Pose.getY(), POSITION_TEST_TOLERANCE, "Should not have moved in Y");
+    }
+
+    /**
+     * With the profile velocity fed forward the robot tracks the trapezoid instead of lagging it,
+     * so the move should take close to the theoretical profile time rather than settling for
+     * seconds afterwards.
+     */
+    @Test
+    void testMoveFinishesNearProfileTime() {
+        // Arrange
+        double targetDistance = 3;
+        var move = new Transform2d(new Translation2d(targetDistance, 0), Rotation2d.kZero);
+        var cmd = new MoveRobotRelative(CONFIG, drivetrain, move);
+        var constraints = CONFIG.pid().translationalConstraints();
+        var theoreticalTime = calculateTrapezoidTime(targetDistance, constraints.maxV(), constraints.maxA());
+
+        // Act
+        CommandScheduler.getInstance().schedule(cmd);
+        assertTrue(runUntil(() -> isFinished(cmd), maxSimulationTime((long) targetDistance)), "Command did not finish in time");
+        System.out.println("Theoretical: %.3fs, profile: %.3fs, elapsed: %.3fs, settle: %.3fs".formatted(
+            theoreticalTime, cmd.getProfileTime(), cmd.getElapsedTime(), cmd.getSettleTime()));
+
+        // Assert
+        assertEquals(theoreticalTime, cmd.getProfileTime(), 0.05, "Profile time should match the trapezoid");
+        assertTrue(cmd.getElapsedTime() < 1.5 * theoreticalTime,
+            "Move took %.3fs, theoretical time is %.3fs".formatted(cmd.getElapsedTime(), theoreticalTime));
+        assertEquals(targetDistance, drivetrain.getState().Pose.getX(), POSITION_TEST_TOLERANCE, "Didn't move far enough in X");
+    }
+
     @Test
     /**
      * This test demonstrates the compounding error that occurs when chaining together multiple 
@@ -189,17 +271,11 @@ public class DrivetrainTests {
 
         // Act
         CommandScheduler.getInstance().schedule(cmd);
-        try {
-            await().atMost(maxSimulationTime(stepLength * 8), TimeUnit.SECONDS).until(() -> {
-                CommandScheduler.getInstance().run();
-                return isFinished(cmd);
-            });
-        } catch (Exception e) {
-            System.err.println("Command did not finish in time: " + e.getMessage());
-        } finally {
-            System.out.println("=== Final Pose ===");
-            drivetrain.logPose();
+        if (!runUntil(() -> isFinished(cmd), maxSimulationTime(stepLength * 8))) {
+            System.err.println("Command did not finish in time");
         }
+        System.out.println("=== Final Pose ===");
+        drivetrain.logPose();
 
         // Asset
         var finalPose = drivetrain.getState().Pose;
@@ -257,17 +333,11 @@ public class DrivetrainTests {
 
         // Act
         CommandScheduler.getInstance().schedule(cmd);
-        try {
-            await().atMost(maxSimulationTime(stepLength * 4), TimeUnit.SECONDS).until(() -> {
-                CommandScheduler.getInstance().run();
-                return isFinished(cmd);
-            });
-        } catch (Exception e) {
-            System.err.println("Command did not finish in time: " + e.getMessage());
-        } finally {
-            System.out.println("=== Final Pose ===");
-            drivetrain.logPose();
+        if (!runUntil(() -> isFinished(cmd), maxSimulationTime(stepLength * 4))) {
+            System.err.println("Command did not finish in time");
         }
+        System.out.println("=== Final Pose ===");
+        drivetrain.logPose();
 
         // Asset
         var finalPose = drivetrain.getState().Pose;
@@ -281,6 +351,41 @@ public class DrivetrainTests {
         assertEquals(0, deltaRot, 2 * ROTATIONAL_TEST_TOLERANCE_DEG, "Rotation should be 0");
     }
 
+    /**
+     * The same square as {@link DrivetrainTests#testNetDisplacementPoorAccuracy}, driven as one
+     * blended trajectory by {@link FollowWaypoints}. The robot never stops at the corners, so it
+     * should finish shortly after the trajectory does, at normal tolerance.
+     */
+    @Test
+    void testBlendedSquare() {
+        // Arrange
+        long stepLength = 3;
+        var xFwd = new Transform2d(new Translation2d(stepLength, 0), Rotation2d.kZero);
+        var rotateRight = new Transform2d(new Translation2d(0, 0), Rotation2d.kCW_90deg);
+        var legs = List.of(xFwd, rotateRight, xFwd, rotateRight, xFwd, rotateRight, xFwd);
+        var startingPose = drivetrain.getState().Pose;
+        var expectedPose = startingPose;
+        for (var leg : legs) {
+            expectedPose = expectedPose.transformBy(leg);
+        }
+        var cmd = new FollowWaypoints(CONFIG, drivetrain, legs);
+
+        // Act
+        var startTime = Timer.getFPGATimestamp();
+        CommandScheduler.getInstance().schedule(cmd);
+        assertTrue(runUntil(() -> isFinished(cmd), maxSimulationTime(stepLength * 4)), "Command did not finish in time");
+        var elapsed = Timer.getFPGATimestamp() - startTime;
+        System.out.println("Trajectory: %.3fs, elapsed: %.3fs".formatted(cmd.getTrajectory().duration(), elapsed));
+        drivetrain.logPose();
+
+        // Assert
+        var finalPose = drivetrain.getState().Pose;
+        assertEquals(expectedPose.getX(), finalPose.getX(), POSITION_TEST_TOLERANCE, "Wrong final X");
+        assertEquals(expectedPose.getY(), finalPose.getY(), POSITION_TEST_TOLERANCE, "Wrong final Y");
+        assertEquals(0, finalPose.getRotation().minus(expectedPose.getRotation()).getDegrees(), ROTATIONAL_TEST_TOLERANCE_DEG, "Wrong final heading");
+        assertTrue(elapsed < cmd.getTrajectory().duration() + 1.0, "Took %.3fs to settle after the trajectory".formatted(elapsed - cmd.getTrajectory().duration()));
+    }
+
 
     static class TestCommand extends Command {
         private final DrivetrainSubsystem drivetrain;
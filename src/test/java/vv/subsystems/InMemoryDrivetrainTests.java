@@ -0,0 +1,121 @@
+package vv.subsystems;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import vv.commands.utils.TrajectoryTracker;
+import static vv.commands.utils.VVConstraints.generalRotationalConstraint;
+import static vv.commands.utils.VVConstraints.generalTrajectoryConfig;
+import vv.subsystems.drivetrain.InMemoryDrivetrainIO;
+import vv.trajectories.WaypointTrajectories;
+import static vv.utils.TestSetup.CONFIG;
+import static vv.utils.TestSetup.POSITION_TEST_TOLERANCE;
+import static vv.utils.TestSetup.ROTATIONAL_TEST_TOLERANCE_DEG;
+
+/**
+ * Drive logic against the ideal in-memory drivetrain, with no HAL or Phoenix.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class InMemoryDrivetrainTests {
+    private static final double DT = 0.02;
+
+    @Test
+    void robotRelativeDrivingFollowsTheHeading() {
+        // Arrange
+        var drivetrain = new InMemoryDrivetrainIO(CONFIG);
+        drivetrain.setPose(new Pose2d(1, 1, Rotation2d.kCCW_90deg));
+
+        // Act
+        drivetrain.driveRobotRelative(1.0, 0.0, 0.0);
+        drivetrain.step(0.5);
+
+        // Assert - forward is +Y when facing 90 degrees
+        var pose = drivetrain.getSnapshot().pose();
+        assertEquals(1.0, pose.getX(), 1E-9);
+        assertEquals(1.5, pose.getY(), 1E-9);
+        assertEquals(1.0, drivetrain.getSnapshot().speeds().vxMetersPerSecond, 1E-9);
+    }
+
+    @Test
+    void highRateControlRunsEveryControlPeriod() {
+        // Arrange
+        var drivetrain = new InMemoryDrivetrainIO(CONFIG);
+        var calls = new int[1];
+        drivetrain.startHighRateControl((pose, out) -> {
+            calls[0]++;
+            out.vxMetersPerSecond = 1.0;
+            out.vyMetersPerSecond = 0.0;
+            out.omegaRadiansPerSecond = 0.0;
+        });
+
+        // Act
+        drivetrain.step(DT);
+
+        // Assert
+        assertEquals(Math.round(DT / drivetrain.getControlLoopPeriod()), calls[0]);
+        assertEquals(DT, drivetrain.getSnapshot().pose().getX(), 1E-9);
+        assertTrue(drivetrain.isHighRateControlRunning());
+    }
+
+    @Test
+    void trackerFollowsATrajectory() {
+        // Arrange
+        var trajectory = WaypointTrajectories.generate(List.of(
+            new Pose2d(0, 0, Rotation2d.kZero),
+            new Pose2d(2, 1, Rotation2d.kCCW_90deg)
+        ), generalTrajectoryConfig(CONFIG), generalRotationalConstraint(CONFIG), DT);
+        var drivetrain = new InMemoryDrivetrainIO(CONFIG);
+        var tracker = new TrajectoryTracker(CONFIG);
+
+        // Act
+        for (var t = 0.0; t <= trajectory.duration() + 0.5; t += DT) {
+            tracker.drive(drivetrain, trajectory, t);
+            drivetrain.step(DT);
+        }
+        drivetrain.stop();
+
+        // Assert
+        var pose = drivetrain.getSnapshot().pose();
+        assertEquals(2.0, pose.getX(), POSITION_TEST_TOLERANCE);
+        assertEquals(1.0, pose.getY(), POSITION_TEST_TOLERANCE);
+        assertEquals(90.0, pose.getRotation().getDegrees(), ROTATIONAL_TEST_TOLERANCE_DEG);
+        assertFalse(drivetrain.isHighRateControlRunning());
+    }
+
+    @Test
+    void trackerFollowsATrajectoryFromTheRobotsStart() {
+        // Arrange - the trajectory starts at the origin but the robot has already moved
+        var trajectory = WaypointTrajectories.generate(List.of(
+            new Pose2d(0, 0, Rotation2d.kZero),
+            new Pose2d(2, 1, Rotation2d.kCCW_90deg)
+        ), generalTrajectoryConfig(CONFIG), generalRotationalConstraint(CONFIG), DT);
+        var robotStart = new Pose2d(3, -1, Rotation2d.kCCW_90deg);
+        var expected = robotStart.transformBy(trajectory.finalPose().minus(trajectory.initialPose()));
+        var drivetrain = new InMemoryDrivetrainIO(CONFIG);
+        drivetrain.setPose(robotStart);
+        var tracker = new TrajectoryTracker(CONFIG);
+        tracker.reset();
+        tracker.startFrom(trajectory.initialPose(), robotStart);
+
+        // Act
+        for (var t = 0.0; t <= trajectory.duration() + 0.5; t += DT) {
+            tracker.drive(drivetrain, trajectory, t);
+            drivetrain.step(DT);
+        }
+        drivetrain.stop();
+
+        // Assert
+        var pose = drivetrain.getSnapshot().pose();
+        assertEquals(expected.getX(), pose.getX(), POSITION_TEST_TOLERANCE);
+        assertEquals(expected.getY(), pose.getY(), POSITION_TEST_TOLERANCE);
+        assertEquals(0, pose.getRotation().minus(expected.getRotation()).getDegrees(), ROTATIONAL_TEST_TOLERANCE_DEG);
+    }
+}
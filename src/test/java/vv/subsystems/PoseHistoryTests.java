@@ -0,0 +1,97 @@
+package vv.subsystems;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import vv.subsystems.drivetrain.PoseHistory;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class PoseHistoryTests {
+
+    @Test
+    void emptyHistoryHasNoPose() {
+        var history = new PoseHistory(8);
+        assertTrue(history.getPoseAt(1.0).isEmpty());
+    }
+
+    @Test
+    void interpolatesBetweenSamples() {
+        // Arrange
+        var history = new PoseHistory(8);
+        history.record(1.0, 0.0, 0.0, 0.0);
+        history.record(2.0, 1.0, 2.0, Math.PI / 2);
+
+        // Act
+        var pose = history.getPoseAt(1.25).orElseThrow();
+
+        // Assert
+        assertEquals(0.25, pose.getX(), 1E-9);
+        assertEquals(0.5, pose.getY(), 1E-9);
+        assertEquals(Math.PI / 8, pose.getRotation().getRadians(), 1E-9);
+    }
+
+    @Test
+    void interpolatesHeadingAcrossWrap() {
+        // Arrange
+        var history = new PoseHistory(8);
+        history.record(0.0, 0.0, 0.0, Math.PI - 0.1);
+        history.record(1.0, 0.0, 0.0, -Math.PI + 0.1);
+
+        // Act
+        var pose = history.getPoseAt(0.5).orElseThrow();
+
+        // Assert - should go the short way through 180 degrees, not back through 0
+        assertEquals(Math.PI, Math.abs(pose.getRotation().getRadians()), 1E-9);
+    }
+
+    @Test
+    void clampsOutsideHistoryAndDropsOldSamples() {
+        // Arrange
+        var history = new PoseHistory(4);
+        for (int i = 0; i < 10; i++) {
+            history.record(i, i, 0.0, 0.0);
+        }
+        history.record(5.0, -1.0, 0.0, 0.0); // out of order, dropped
+
+        // Assert - only the newest capacity-1 samples are readable
+        assertEquals(3, history.size());
+        assertEquals(7.0, history.getPoseAt(0.0).orElseThrow().getX(), 1E-9);
+        assertEquals(9.0, history.getPoseAt(100.0).orElseThrow().getX(), 1E-9);
+        assertEquals(8.5, history.getPoseAt(8.5).orElseThrow().getX(), 1E-9);
+    }
+
+    @Test
+    void readersNeverSeeTornSamples() throws InterruptedException {
+        // Arrange - every sample has x == y, so a torn read would show up as x != y
+        var history = new PoseHistory(16);
+        var done = new AtomicBoolean(false);
+        var torn = new AtomicBoolean(false);
+        var writer = new Thread(() -> {
+            for (int i = 1; i <= 2_000_000; i++) {
+                history.record(i, i, i, 0.0);
+            }
+            done.set(true);
+        });
+
+        // Act
+        writer.start();
+        long reads = 0;
+        while (!done.get()) {
+            var pose = history.getPoseAt(reads % 2_000_000);
+            if (pose.isPresent() && Math.abs(pose.get().getX() - pose.get().getY()) > 1E-9) {
+                torn.set(true);
+            }
+            reads++;
+        }
+        writer.join();
+
+        // Assert
+        assertFalse(torn.get(), "Reader saw a partially written sample");
+    }
+}
@@ -0,0 +1,100 @@
+package vv.subsystems;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static edu.wpi.first.units.Units.Seconds;
+import edu.wpi.first.wpilibj.util.Color;
+import vv.config.RollerConfig;
+import vv.subsystems.roller.InMemoryLEDIO;
+import vv.subsystems.roller.InMemoryRollerMotorIO;
+import vv.subsystems.roller.RollerSubsystem;
+import vv.subsystems.roller.RollerSubsystem.RollerState;
+import static vv.utils.TestSetup.CONFIG;
+
+/**
+ * The roller on in-memory IO with a manual clock: no HAL and no scheduler (commands and
+ * {@code periodic()} are called directly), so these run in parallel with everything else.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class RollerLogicTests {
+
+    RollerConfig config;
+    InMemoryRollerMotorIO motor;
+    InMemoryLEDIO led;
+    RollerSubsystem roller;
+    double now = 0;
+
+    @BeforeEach
+    void beforeEach() {
+        config = CONFIG.roller();
+        motor = new InMemoryRollerMotorIO();
+        led = new InMemoryLEDIO(config.led().length());
+        roller = new RollerSubsystem(CONFIG, motor, led, () -> now);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        roller.close();
+    }
+
+    @Test
+    void intakeDrivesMotorAndLED() {
+        // Act
+        roller.intake().initialize();
+        roller.periodic();
+
+        // Assert
+        assertEquals(RollerState.INTAKING, roller.getState());
+        assertEquals(config.motor().intakeSpeed(), motor.getDutyCycle());
+        assertEquals(Color.kBlue, roller.getLED().getColor().get());
+        await().atMost(Duration.ofSeconds(1)).until(() -> led.getLED(0).equals(Color.kBlue));
+    }
+
+    @Test
+    void timedOutputIdlesAfterItsDuration() {
+        // Act
+        roller.output(Seconds.of(0.5)).initialize();
+        roller.periodic();
+        now = 0.4;
+        roller.periodic();
+        var stateBefore = roller.getState();
+        now = 0.6;
+        roller.periodic();
+
+        // Assert
+        assertEquals(RollerState.OUTPUTTING, stateBefore);
+        assertEquals(RollerState.IDLING, roller.getState());
+        assertEquals(config.motor().idleSpeed(), motor.getDutyCycle());
+        assertTrue(roller.getLED().getColor().isEmpty());
+    }
+
+    @Test
+    void unchangedOutputsAreOnlyRefreshed() {
+        // Arrange
+        roller.output().initialize();
+
+        // Act - one write for the change, none while it holds, then one refresh
+        for (int i = 0; i < 10; i++) {
+            now = i * 0.02;
+            roller.periodic();
+        }
+        var writesWhileHolding = motor.writes();
+        now = config.outputRefreshSeconds() + 0.01;
+        roller.periodic();
+
+        // Assert
+        assertEquals(1, writesWhileHolding);
+        assertEquals(2, motor.writes());
+        assertEquals(9, roller.getSuppressedWrites(), "Nine skipped loops of one motor write each");
+    }
+}
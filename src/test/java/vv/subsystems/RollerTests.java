@@ -1,9 +1,10 @@
 package vv.subsystems;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 
 import static org.awaitility.Awaitility.await;
+
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -12,13 +13,16 @@ import org.junit.jupiter.api.Test;
 
 import static edu.wpi.first.units.Units.Seconds;
 import edu.wpi.first.units.measure.Time;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.AddressableLEDSim;
 import edu.wpi.first.wpilibj.util.Color;
-import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import vv.config.RollerConfig;
+import vv.sims.LockstepSimulation;
 import vv.subsystems.roller.RollerSubsystem;
 import vv.subsystems.roller.RollerSubsystem.RollerState;
 import static vv.utils.TestSetup.CONFIG;
 import static vv.utils.TestSetup.resetSimulationState;
+import static vv.utils.TestSetup.runUntil;
 
 @SuppressWarnings("unused")
 public class RollerTests {
@@ -45,13 +49,12 @@ public class RollerTests {
         roller.idle().schedule();
 
         // Assert
-        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            CommandScheduler.getInstance().run();
-
-            assertEquals(RollerState.IDLING, roller.getState());
-            assertEquals(config.motor().idleSpeed(), roller.getMotor().getSetSpeed());
-            assertTrue(roller.getLED().getColor().isEmpty());    
-        });
+        runUntil(() -> roller.getState() == RollerState.IDLING
+            && roller.getMotor().getSetSpeed() == config.motor().idleSpeed()
+            && roller.getLED().getColor().isEmpty(), 1.0);
+        assertEquals(RollerState.IDLING, roller.getState());
+        assertEquals(config.motor().idleSpeed(), roller.getMotor().getSetSpeed());
+        assertTrue(roller.getLED().getColor().isEmpty());
     }
 
     @Test
@@ -60,14 +63,12 @@ public class RollerTests {
         roller.intake().schedule();
 
         // Assert
-        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            CommandScheduler.getInstance().run();
-
-            assertEquals(RollerState.INTAKING, roller.getState());
-            assertEquals(config.motor().intakeSpeed(), roller.getMotor().getSetSpeed(), 0.05);
-            assertTrue(roller.getLED().getColor().isPresent());
-            assertEquals(Color.kBlue, roller.getLED().getColor().get());
-        });
+        runUntil(() -> roller.getState() == RollerState.INTAKING
+            && Math.abs(roller.getMotor().getSetSpeed() - config.motor().intakeSpeed()) <= 0.05, 1.0);
+        assertEquals(RollerState.INTAKING, roller.getState());
+        assertEquals(config.motor().intakeSpeed(), roller.getMotor().getSetSpeed(), 0.05);
+        assertTrue(roller.getLED().getColor().isPresent());
+        assertEquals(Color.kBlue, roller.getLED().getColor().get());
     }
 
 
@@ -77,14 +78,12 @@ public class RollerTests {
         roller.output().schedule();
 
         // Assert
-        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> {
-            CommandScheduler.getInstance().run();
-
-            assertEquals(RollerState.OUTPUTTING, roller.getState());
-            assertEquals(config.motor().outputSpeed(), roller.getMotor().getSetSpeed(), 0.05);
-            assertTrue(roller.getLED().getColor().isPresent());
-            assertEquals(Color.kGreen, roller.getLED().getColor().get());
-        });
+        runUntil(() -> roller.getState() == RollerState.OUTPUTTING
+            && Math.abs(roller.getMotor().getSetSpeed() - config.motor().outputSpeed()) <= 0.05, 1.0);
+        assertEquals(RollerState.OUTPUTTING, roller.getState());
+        assertEquals(config.motor().outputSpeed(), roller.getMotor().getSetSpeed(), 0.05);
+        assertTrue(roller.getLED().getColor().isPresent());
+        assertEquals(Color.kGreen, roller.getLED().getColor().get());
     }
 
     @Test
@@ -93,17 +92,61 @@ public class RollerTests {
         roller.intake(Time.ofRelativeUnits(1, Seconds)).schedule();
 
         // Assert - Running
-        await().atMost(Duration.ofSeconds(1)).until(() -> {
-            CommandScheduler.getInstance().run();
-            return roller.getState().equals(RollerState.INTAKING);
-        });
+        assertTrue(runUntil(() -> roller.getState().equals(RollerState.INTAKING), 1.0));
+        var intakeStart = Timer.getFPGATimestamp();
+
+        // Assert - Back to idle after the duration, not before
+        runUntil(() -> roller.getState().equals(RollerState.IDLING)
+            && Math.abs(roller.getMotor().getSetSpeed() - config.motor().idleSpeed()) <= 0.05, 2.0);
+        var elapsed = Timer.getFPGATimestamp() - intakeStart;
+        assertTrue(elapsed >= 0.9, "Roller stopped intaking after only " + elapsed + "s");
+        assertEquals(RollerState.IDLING, roller.getState());
+        assertEquals(config.motor().idleSpeed(), roller.getMotor().getSetSpeed(), 0.05);
+        assertTrue(roller.getLED().getColor().isEmpty());
+    }
 
-        await().between(Duration.ofMillis(900), Duration.ofSeconds(2)).untilAsserted(() -> {
-            CommandScheduler.getInstance().run();
+    @Test
+    void testOutputsOnlyRewrittenOnChangeOrRefresh() {
+        // Arrange
+        roller.intake().schedule();
+        assertTrue(runUntil(() -> roller.getState() == RollerState.INTAKING, 1.0));
+        var suppressedAtStart = roller.getSuppressedWrites();
+
+        // Act - hold the state for half a refresh interval
+        var loopPeriod = CONFIG.simulation().simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
+        var loops = (int) (config.outputRefreshSeconds() / loopPeriod) / 2;
+        for (int i = 0; i < loops; i++) {
+            LockstepSimulation.step(loopPeriod);
+        }
+
+        // Assert - every loop skipped its motor write, and the outputs are unchanged
+        assertEquals(suppressedAtStart + loops, roller.getSuppressedWrites());
+        assertEquals(config.motor().intakeSpeed(), roller.getMotor().getSetSpeed(), 0.05);
+        assertEquals(Color.kBlue, roller.getLED().getColor().get());
+
+        // Act - a state change is written straight away
+        roller.output().schedule();
+        var suppressedBeforeChange = roller.getSuppressedWrites();
+        assertTrue(runUntil(() -> roller.getLED().getColor().equals(Optional.of(Color.kGreen)), 0.1));
+        assertEquals(suppressedBeforeChange, roller.getSuppressedWrites());
+    }
+
+    @Test
+    void testLEDsRenderedOffMainThread() {
+        // Arrange
+        var ledSim = AddressableLEDSim.createForChannel(config.led().port());
 
-            assertEquals(RollerState.IDLING, roller.getState());
-            assertEquals(config.motor().idleSpeed(), roller.getMotor().getSetSpeed(), 0.05);
-            assertTrue(roller.getLED().getColor().isEmpty());
+        // Act
+        roller.intake().schedule();
+        assertTrue(runUntil(() -> roller.getState() == RollerState.INTAKING, 1.0));
+
+        // Assert - the compositor thread sends a full-length blue frame (HAL packs pixels as b, g, r, padding)
+        await().atMost(Duration.ofSeconds(1)).until(() -> {
+            var data = ledSim.getData();
+            return data.length == 4 * config.led().length()
+                && data[0] == (byte) 255 && data[1] == 0 && data[2] == 0;
         });
+        assertEquals(config.led().length(), ledSim.getLength());
+        assertTrue(ledSim.getRunning());
     }
 }
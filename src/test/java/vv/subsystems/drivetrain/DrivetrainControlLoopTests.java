@@ -0,0 +1,109 @@
+package vv.subsystems.drivetrain;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import vv.utils.TestSetup;
+
+/**
+ * Iterations are run directly on a test thread. The notifier's period is long enough that it
+ * never fires during a test.
+ */
+public class DrivetrainControlLoopTests {
+    private static final double NEVER_FIRES_PERIOD = 600.0;
+
+    List<Double> sent;
+    DrivetrainControlLoop loop;
+
+    @BeforeEach
+    void beforeEach() {
+        TestSetup.resetSimulationState();
+        sent = new CopyOnWriteArrayList<>();
+        loop = new DrivetrainControlLoop(
+            () -> Pose2d.kZero,
+            DoubleUnaryOperator.identity(),
+            DoubleUnaryOperator.identity(),
+            request -> sent.add(((SwerveRequest.ApplyFieldSpeeds) request).Speeds.vxMetersPerSecond),
+            NEVER_FIRES_PERIOD
+        );
+    }
+
+    @AfterEach
+    void afterEach() {
+        loop.close();
+    }
+
+    @Test
+    void activeControlSendsItsRequest() {
+        // Arrange
+        HighRateControl control = (pose, out) -> out.vxMetersPerSecond = 1.0;
+        loop.start(control);
+
+        // Act
+        loop.run();
+
+        // Assert
+        assertEquals(List.of(1.0), sent);
+    }
+
+    @Test
+    void stopDuringAnIterationDropsItsRequest() throws InterruptedException {
+        // Arrange - a control that is part way through calculating when it is stopped
+        var calculating = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        HighRateControl slow = (pose, out) -> {
+            calculating.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.vxMetersPerSecond = 1.0;
+        };
+        loop.start(slow);
+        var iteration = new Thread(loop::run, "slow-iteration");
+        iteration.start();
+        assertTrue(calculating.await(5, TimeUnit.SECONDS), "Iteration never started");
+
+        // Act
+        loop.stop(slow);
+        release.countDown();
+        iteration.join(5_000);
+
+        // Assert
+        assertFalse(iteration.isAlive(), "Iteration never finished");
+        assertFalse(loop.isRunning());
+        assertTrue(sent.isEmpty(), "Sent a request after stop returned: " + sent);
+    }
+
+    @Test
+    void replacedControlDoesNotSend() {
+        // Arrange
+        HighRateControl first = (pose, out) -> {
+            // Replaced by the next command mid-iteration
+            loop.start((p, o) -> o.vxMetersPerSecond = 2.0);
+            out.vxMetersPerSecond = 1.0;
+        };
+        loop.start(first);
+
+        // Act
+        loop.run();
+        loop.run();
+
+        // Assert
+        assertEquals(List.of(2.0), sent);
+    }
+}
@@ -0,0 +1,85 @@
+package vv.telemetry;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import static vv.utils.TestSetup.CONFIG;
+
+public class TelemetryServiceTests {
+
+    private NetworkTableInstance nt;
+    private TelemetryService telemetry;
+
+    @BeforeEach
+    void setup() {
+        nt = NetworkTableInstance.create();
+        telemetry = new TelemetryService(CONFIG.telemetry(), nt);
+    }
+
+    @AfterEach
+    void teardown() throws InterruptedException {
+        telemetry.close();
+        nt.close();
+    }
+
+    @Test
+    void publishesOnlyChangedValues() {
+        // Arrange
+        var pose = telemetry.pose("/Test/Pose");
+        var number = telemetry.number("/Test/Number");
+        var subscriber = nt.getStructTopic("/Test/Pose", Pose2d.struct).subscribe(Pose2d.kZero);
+
+        // Act / Assert - nothing set yet, then both channels, then only the one that changed
+        assertEquals(0, telemetry.publishChanged());
+        pose.set(new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(90)));
+        number.set(3.0);
+        assertEquals(2, telemetry.publishChanged());
+        assertEquals(0, telemetry.publishChanged());
+        pose.set(new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(90)));
+        number.set(4.0);
+        assertEquals(1, telemetry.publishChanged());
+        assertEquals(3, telemetry.getPublishedValues());
+
+        var published = subscriber.get();
+        assertEquals(1.0, published.getX(), 1E-9);
+        assertEquals(2.0, published.getY(), 1E-9);
+        assertEquals(90, published.getRotation().getDegrees(), 1E-9);
+        subscriber.close();
+    }
+
+    @Test
+    void readerNeverSeesTornPose() throws InterruptedException {
+        // Arrange - every pose has x == y == theta, so a torn read would show up as a mismatch
+        var pose = telemetry.pose("/Test/Pose");
+        var done = new AtomicBoolean(false);
+        var torn = new AtomicBoolean(false);
+        var writer = new Thread(() -> {
+            for (int i = 1; i <= 2_000_000; i++) {
+                var v = (i % 3000) / 1000.0;
+                pose.set(v, v, v);
+            }
+            done.set(true);
+        });
+
+        // Act
+        writer.start();
+        while (!done.get()) {
+            var read = pose.get();
+            if (read.getX() != read.getY() || Math.abs(read.getX() - read.getRotation().getRadians()) > 1E-9) {
+                torn.set(true);
+            }
+        }
+        writer.join();
+
+        // Assert
+        assertFalse(torn.get(), "Reader saw a partially written pose");
+    }
+}
@@ -0,0 +1,61 @@
+package vv.trajectories;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import vv.auto.AutoRoutines;
+import static vv.utils.TestSetup.CONFIG;
+import static vv.utils.TestSetup.resetSimulationState;
+
+public class TrajectoryFileTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mappedTrajectoryMatchesGenerated() throws IOException {
+        // Arrange
+        var generated = TrajectoryCompiler.compile(CONFIG, AutoRoutines.SQUARE);
+        var path = dir.resolve("square" + TrajectoryFile.EXTENSION);
+
+        // Act
+        TrajectoryFile.write(generated, path);
+        var mapped = TrajectoryFile.map(path);
+
+        // Assert
+        assertEquals(generated.size(), mapped.size());
+        assertEquals(generated.dt(), mapped.dt());
+        var expected = new double[SampledTrajectory.STRIDE];
+        var actual = new double[SampledTrajectory.STRIDE];
+        for (var t = 0.0; t <= generated.duration(); t += 0.013) {
+            generated.sample(t, expected);
+            mapped.sample(t, actual);
+            assertArrayEquals(expected, actual, 0.0);
+        }
+    }
+
+    @Test
+    void cacheLoadsByIdAndRejectsGarbage() throws IOException {
+        // Arrange - the bad file is reported through the driver station, which needs HAL
+        resetSimulationState();
+        TrajectoryFile.write(TrajectoryCompiler.compile(CONFIG, AutoRoutines.FORWARD_AND_BACK),
+            dir.resolve(AutoRoutines.FORWARD_AND_BACK.id() + TrajectoryFile.EXTENSION));
+        Files.write(dir.resolve("garbage" + TrajectoryFile.EXTENSION), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        // Act
+        var cache = TrajectoryCache.load(dir);
+
+        // Assert
+        assertTrue(cache.find(AutoRoutines.FORWARD_AND_BACK.id()).isPresent());
+        assertTrue(cache.find("garbage").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> cache.get("missing"));
+    }
+}
@@ -0,0 +1,140 @@
+package vv.trajectories;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
+
+@Execution(ExecutionMode.CONCURRENT)
+public class WaypointTrajectoriesTests {
+    private static final double DT = 0.02;
+    private static final TrajectoryConfig LIMITS = new TrajectoryConfig(2.0, 1.0);
+    private static final TrapezoidProfile.Constraints ROTATION_LIMITS = new TrapezoidProfile.Constraints(Math.PI, Math.PI / 2);
+
+    @Test
+    void passesThroughWaypointsWithoutStopping() {
+        // Arrange - an L, with a turn in place at the corner merged into the corner waypoint
+        var waypoints = List.of(
+            new Pose2d(0, 0, Rotation2d.kZero),
+            new Pose2d(2, 0, Rotation2d.kZero),
+            new Pose2d(2, 0, Rotation2d.kCW_90deg),
+            new Pose2d(2, -2, Rotation2d.kCW_90deg)
+        );
+
+        // Act
+        var trajectory = WaypointTrajectories.generate(waypoints, LIMITS, ROTATION_LIMITS, DT);
+
+        // Assert
+        var end = trajectory.finalPose();
+        assertEquals(2, end.getX(), 1E-6);
+        assertEquals(-2, end.getY(), 1E-6);
+        assertEquals(-90, end.getRotation().getDegrees(), 1E-6);
+
+        var sample = new double[SampledTrajectory.STRIDE];
+        var minSpeedMidway = Double.MAX_VALUE;
+        var closestToCorner = Double.MAX_VALUE;
+        for (var t = 0.25 * trajectory.duration(); t < 0.75 * trajectory.duration(); t += DT) {
+            trajectory.sample(t, sample);
+            minSpeedMidway = Math.min(minSpeedMidway, Math.hypot(sample[SampledTrajectory.VX], sample[SampledTrajectory.VY]));
+            closestToCorner = Math.min(closestToCorner, Math.hypot(sample[SampledTrajectory.X] - 2, sample[SampledTrajectory.Y]));
+        }
+        assertTrue(minSpeedMidway > 0.1, "Robot should keep moving through the corner");
+        assertTrue(closestToCorner < 2 * DT * 2.0, "Path should pass through the corner");
+    }
+
+    @Test
+    void slowsDownToTurnAroundOnAShortLeg() {
+        // Arrange - half a turn over half a metre would need 2 pi rad/s at 1 m/s
+        var waypoints = List.of(
+            new Pose2d(0, 0, Rotation2d.kZero),
+            new Pose2d(0.5, 0, Rotation2d.k180deg)
+        );
+
+        // Act
+        var trajectory = WaypointTrajectories.generate(waypoints, LIMITS, ROTATION_LIMITS, DT);
+
+        // Assert - within 5% of the rotational limits (omega comes from differencing the samples)
+        var end = trajectory.finalPose();
+        assertEquals(0.5, end.getX(), 1E-6);
+        assertEquals(180, Math.abs(end.getRotation().getDegrees()), 1E-6);
+
+        var sample = new double[SampledTrajectory.STRIDE];
+        var maxOmega = 0.0;
+        var maxAlpha = 0.0;
+        var lastOmega = 0.0;
+        for (int i = 0; i < trajectory.size(); i++) {
+            trajectory.sample(i * DT, sample);
+            var omega = sample[SampledTrajectory.OMEGA];
+            maxOmega = Math.max(maxOmega, Math.abs(omega));
+            maxAlpha = Math.max(maxAlpha, Math.abs(omega - lastOmega) / DT);
+            lastOmega = omega;
+        }
+        assertTrue(maxOmega <= ROTATION_LIMITS.maxVelocity * 1.05, "Turn rate %.2f rad/s is over the limit".formatted(maxOmega));
+        assertTrue(maxAlpha <= ROTATION_LIMITS.maxAcceleration * 1.05, "Turn acceleration %.2f rad/s^2 is over the limit".formatted(maxAlpha));
+        assertTrue(trajectory.duration() >= Math.PI / ROTATION_LIMITS.maxVelocity, "Turned faster than the robot can");
+    }
+
+    @Test
+    void sampleInterpolatesAndClamps() {
+        // Arrange - two samples, 1 s apart, turning through 180 degrees
+        var trajectory = new SampledTrajectory(1.0, new double[] {
+            0, 0, Math.PI - 0.1, 1, 0, 0,
+            1, 2, -Math.PI + 0.1, 1, 0, 0
+        });
+        var out = new double[SampledTrajectory.STRIDE];
+
+        // Act / Assert
+        trajectory.sample(0.5, out);
+        assertEquals(0.5, out[SampledTrajectory.X], 1E-9);
+        assertEquals(1.0, out[SampledTrajectory.Y], 1E-9);
+        assertEquals(Math.PI, Math.abs(out[SampledTrajectory.THETA]), 1E-9);
+
+        trajectory.sample(5.0, out);
+        assertEquals(1.0, out[SampledTrajectory.X], 1E-9);
+        trajectory.sample(-1.0, out);
+        assertEquals(0.0, out[SampledTrajectory.X], 1E-9);
+    }
+
+    @Test
+    void turnsInPlaceWhenThePositionDoesNotChange() {
+        // Arrange
+        var waypoints = List.of(new Pose2d(1, 1, Rotation2d.kZero), new Pose2d(1, 1, Rotation2d.kCW_90deg));
+
+        // Act
+        var trajectory = WaypointTrajectories.generate(waypoints, LIMITS, ROTATION_LIMITS, DT);
+
+        // Assert - the pi/2 turn is all acceleration and deceleration at these limits: 2 s
+        var end = trajectory.finalPose();
+        assertEquals(1, end.getX(), 1E-9);
+        assertEquals(1, end.getY(), 1E-9);
+        assertEquals(-90, end.getRotation().getDegrees(), 1E-6);
+        assertEquals(2.0, trajectory.duration(), DT);
+
+        var sample = new double[SampledTrajectory.STRIDE];
+        trajectory.sample(trajectory.duration() / 2, sample);
+        assertEquals(1, sample[SampledTrajectory.X], 1E-9);
+        assertTrue(sample[SampledTrajectory.OMEGA] < 0, "Should turn the shorter way, clockwise");
+        assertTrue(Math.abs(sample[SampledTrajectory.OMEGA]) <= ROTATION_LIMITS.maxVelocity + 1E-9);
+    }
+
+    @Test
+    void alreadyAtTheTargetIsAnEmptyTrajectory() {
+        // Arrange
+        var waypoints = List.of(new Pose2d(1, 1, Rotation2d.kZero), new Pose2d(1, 1, Rotation2d.kZero));
+
+        // Act
+        var trajectory = WaypointTrajectories.generate(waypoints, LIMITS, ROTATION_LIMITS, DT);
+
+        // Assert
+        assertEquals(0.0, trajectory.duration());
+        assertEquals(new Pose2d(1, 1, Rotation2d.kZero), trajectory.finalPose());
+    }
+}
@@ -0,0 +1,112 @@
+package vv.tuning;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import vv.config.PIDConfig;
+import vv.config.PIDConfig.PIDGains;
+import vv.config.VVConfig;
+import vv.subsystems.drivetrain.DrivetrainFactory;
+import static vv.utils.TestSetup.CONFIG;
+import static vv.utils.TestSetup.resetSimulationState;
+
+public class PIDSweepTests {
+
+    @Test
+    void bestGainsPasteIntoTheConfig() throws Exception {
+        // Arrange
+        var gains = new GainSet(new PIDGains(2.5, 0.0, 0.125, 0.9), new PIDGains(0.15, 0.0, 0.0075, 1.1));
+        var props = new Properties();
+        props.load(new StringReader("""
+            pid.translational.tolerance=0.025
+            pid.translational.max.v=2.0
+            pid.translational.max.a=1.0
+            pid.rotational.tolerance=3.0
+            pid.rotational.max.v=180.0
+            pid.rotational.max.a=90.0
+            """));
+
+        // Act
+        props.load(new StringReader(gains.toProperties()));
+        var pid = PIDConfig.fromProperties(props);
+
+        // Assert
+        assertEquals(gains, GainSet.of(pid));
+        assertEquals(gains, GainSet.fromLine(gains.toLine()));
+    }
+
+    @Test
+    void candidatesStartWithTheCurrentGains() {
+        var baseline = GainSet.of(CONFIG.pid());
+        var sampled = PIDSweep.sample(baseline, 32, new Random(1));
+        var grid = PIDSweep.grid(baseline, 2);
+
+        assertEquals(33, sampled.size());
+        assertEquals(baseline, sampled.get(0));
+        assertEquals(1 + 64, grid.size(), "A 2-level grid over six gains should have 2^6 sets plus the baseline");
+        assertEquals(baseline, grid.get(0));
+    }
+
+    @Test
+    void oversizedGridsAreRejected() {
+        var baseline = GainSet.of(CONFIG.pid());
+
+        assertEquals(1 + 4096, PIDSweep.grid(baseline, 4).size());
+        assertThrows(IllegalArgumentException.class, () -> PIDSweep.grid(baseline, 5));
+        assertThrows(IllegalArgumentException.class, () -> PIDSweep.grid(baseline, 256));
+    }
+
+    @Test
+    void failedMovesRankLast() {
+        // Arrange
+        var baseline = GainSet.of(CONFIG.pid());
+        var candidates = List.of(baseline, baseline, baseline);
+        var results = new SweepResult[] {
+            new SweepResult(0, 0.5, 0.2, 0.1, 0),
+            new SweepResult(1, 0.0, 0.0, 0.0, 1),
+            new SweepResult(2, 0.2, 0.1, 0.1, 0)
+        };
+
+        // Act
+        var report = PIDSweep.report(candidates, results);
+
+        // Assert
+        var rows = report.lines().skip(1).limit(3).toList();
+        assertTrue(rows.get(0).contains("0.200"), "Fastest successful set should rank first: " + report);
+        assertTrue(rows.get(2).contains("0.000"), "Set with a failed move should rank last: " + report);
+        assertTrue(report.contains("pid.translational.kp="));
+    }
+
+    @Test
+    void currentGainsSettleInSimulation() {
+        // Arrange - a config of our own, as the worker swaps its PID settings
+        resetSimulationState();
+        var config = VVConfig.readFromPath("./src/test/resources/test.properties");
+        var drivetrain = DrivetrainFactory.createDrivetrain(config);
+        drivetrain.register();
+        var worker = new SweepWorker(config, drivetrain, List.of(new Transform2d(1.0, 0.0, Rotation2d.kZero)));
+
+        // Act - a sloppy set in between leaves the drivetrain somewhere else
+        var result = worker.evaluate(0, GainSet.of(config.pid()));
+        var current = GainSet.of(config.pid());
+        var t = current.translational();
+        worker.evaluate(1, new GainSet(new PIDGains(t.kP() / 4, t.kI(), t.kD(), t.kFF()), current.rotational()));
+        var repeat = worker.evaluate(2, GainSet.of(config.pid()));
+        drivetrain.close();
+
+        // Assert
+        assertEquals(0, result.failures(), "Current gains should reach the goal: " + result);
+        assertEquals(result.score(), repeat.score(), 0.1, "Same gains should score the same from the same start: " + result + " vs " + repeat);
+        assertTrue(result.finalError() < 2.0, "Move should end within tolerance: " + result);
+        assertTrue(result.settleTime() < SweepWorker.SETTLE_TIMEOUT_SECONDS);
+    }
+}
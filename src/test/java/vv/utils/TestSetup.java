@@ -5,9 +5,8 @@ import java.util.Timer;
 import static edu.wpi.first.units.Units.DegreesPerSecond;
 import static edu.wpi.first.units.Units.RadiansPerSecond;
 
-import java.util.concurrent.TimeUnit;
-
-import org.awaitility.Awaitility;
+import java.lang.management.ManagementFactory;
+import java.util.function.BooleanSupplier;
 
 import edu.wpi.first.hal.HAL;
 import edu.wpi.first.wpilibj.DriverStation;
@@ -17,6 +16,9 @@ import edu.wpi.first.wpilibj.simulation.SimHooks;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import vv.config.VVConfig;
+import vv.devices.SignalRegistry;
+import vv.sims.LockstepSimulation;
+import vv.sims.SimCheckpoint;
 
 public class TestSetup {
     public static final VVConfig CONFIG = VVConfig.readFromPath("./src/test/resources/test.properties");
@@ -33,15 +35,45 @@ public class TestSetup {
         RobotController.resetRailFaultCounts();
         CommandScheduler.getInstance().cancelAll();
         CommandScheduler.getInstance().clearComposedCommands();
-    
+        // Subsystems and bindings from earlier tests would otherwise keep running (and stepping their sims)
+        CommandScheduler.getInstance().unregisterAllSubsystems();
+        CommandScheduler.getInstance().getDefaultButtonLoop().clear();
+        SignalRegistry.clear();
+        resetDriverStation();
+    }
+
+    /**
+     * Like {@link #resetSimulationState()}, but keeps the checkpointed drivetrain (reset to its
+     * captured state) instead of forgetting every subsystem. Build the drivetrain once per class
+     * after a {@link #resetSimulationState()}, capture it, and call this before each test.
+     */
+    public static void restoreSimulationState(SimCheckpoint checkpoint) {
+        RobotController.resetRailFaultCounts();
+        resetDriverStation();
+        checkpoint.restore();
+    }
+
+    private static void resetDriverStation() {
         DriverStationSim.resetData();
         DriverStationSim.setEnabled(true);
         DriverStationSim.notifyNewData();
 		DriverStation.silenceJoystickConnectionWarning(true);
         SimHooks.setProgramStarted();
-        
-        var simLoop = CONFIG.simulation().simLoopPeriodFreq().asPeriod();
-        Awaitility.setDefaultPollInterval((long)simLoop.baseUnitMagnitude(), TimeUnit.SECONDS);
+        LockstepSimulation.enable();
+    }
+
+    /**
+     * Steps the lockstep simulation one loop period at a time (running the scheduler each step)
+     * until the condition holds. Time here is simulated, so this finishes as fast as the CPU
+     * allows and behaves the same on every run.
+     *
+     * @param condition Checked after every step
+     * @param maxSimTimeSeconds Simulated time to give up after
+     * @return whether the condition was met in time
+     */
+    public static boolean runUntil(BooleanSupplier condition, double maxSimTimeSeconds) {
+        var loopPeriod = CONFIG.simulation().simLoopPeriodFreq().asPeriod().baseUnitMagnitude();
+        return LockstepSimulation.runUntil(condition, maxSimTimeSeconds, loopPeriod);
     }
 
     /**
@@ -62,7 +94,10 @@ public class TestSetup {
         return (long) Math.ceil(expectedTime * 2);
     }
     
-    private static double calculateTrapezoidTime(long distance, double maxVel, double maxAccel) {
+    /**
+     * @return the time a trapezoidal (or triangular, for short moves) profile takes to cover the distance
+     */
+    public static double calculateTrapezoidTime(double distance, double maxVel, double maxAccel) {
         var accelTime = maxVel / maxAccel;
         var accelDistance = 0.5 * maxAccel * accelTime * accelTime;
         
@@ -74,4 +109,24 @@ public class TestSetup {
             return 2 * accelTime + cruiseTime;
         }
     }
+
+    /**
+     * Measures heap allocation on the calling thread, averaged over {@code iterations} calls
+     * after {@code warmup} calls have given the JIT a chance to compile (and escape-analyse)
+     * the path. Integer division means a constant measurement overhead rounds away to 0.
+     */
+    public static long allocatedBytesPerCall(Runnable action, int warmup, int iterations) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+
+        var before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        var after = threads.getThreadAllocatedBytes(threadId);
+        return (after - before) / iterations;
+    }
 }